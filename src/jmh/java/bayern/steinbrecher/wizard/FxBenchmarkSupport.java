@@ -0,0 +1,106 @@
+package bayern.steinbrecher.wizard;
+
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.ResourceBundle;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Provides access to the JavaFX application thread for benchmarks.
+ *
+ * @author Stefan Huber
+ * @since 1.61
+ */
+public final class FxBenchmarkSupport {
+
+    private static final CountDownLatch STARTUP = new CountDownLatch(1);
+
+    static {
+        Platform.startup(STARTUP::countDown);
+        Platform.setImplicitExit(false);
+    }
+
+    private FxBenchmarkSupport() {
+        throw new UnsupportedOperationException("Construction of an object is not allowed");
+    }
+
+    /**
+     * Ensures that the JavaFX toolkit is running.
+     */
+    public static void startToolkit() throws InterruptedException {
+        STARTUP.await();
+    }
+
+    /**
+     * Executes the given action on the JavaFX application thread and waits for its result.
+     */
+    public static <V> V callOnFxThread(Callable<V> action) throws InterruptedException, ExecutionException {
+        CompletableFuture<V> result = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                result.complete(action.call());
+            } catch (Throwable ex) { //NOPMD - Anything thrown by the action has to be forwarded instead of blocking
+                result.completeExceptionally(ex);
+            }
+        });
+        return result.get();
+    }
+
+    /**
+     * Executes the given action on the JavaFX application thread and waits for it.
+     */
+    public static void runOnFxThread(Runnable action) throws InterruptedException, ExecutionException {
+        callOnFxThread(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Loads the given FXML description on the JavaFX application thread.
+     *
+     * @return The {@link FXMLLoader} which provides the loaded root and controller.
+     */
+    public static FXMLLoader loadFxml(URL resource, ResourceBundle bundle)
+            throws InterruptedException, ExecutionException {
+        return callOnFxThread(() -> {
+            FXMLLoader fxmlLoader = new FXMLLoader(resource, bundle);
+            fxmlLoader.load();
+            return fxmlLoader;
+        });
+    }
+
+    /**
+     * Returns the FXML event handler with the given name which takes no arguments and makes it accessible.
+     */
+    public static Method findHandler(Class<?> controllerClass, String handlerName) throws NoSuchMethodException {
+        Method handler = controllerClass.getDeclaredMethod(handlerName);
+        handler.setAccessible(true);
+        return handler;
+    }
+
+    /**
+     * Calls the given handler on the JavaFX application thread and waits for all actions it posted to the JavaFX
+     * application thread.
+     */
+    public static void invokeHandler(Method handler, Object controller)
+            throws InterruptedException, ExecutionException {
+        callOnFxThread(() -> handler.invoke(controller));
+        drainFxQueue();
+    }
+
+    /**
+     * Waits until all actions which were posted to the JavaFX application thread before are executed.
+     */
+    public static void drainFxQueue() throws InterruptedException, ExecutionException {
+        runOnFxThread(() -> {
+            // No op
+        });
+    }
+}
@@ -0,0 +1,75 @@
+package bayern.steinbrecher.wizard;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Measures pure page graph navigation without any JavaFX involvement.
+ *
+ * @author Stefan Huber
+ * @since 1.61
+ */
+@State(Scope.Thread)
+public class WizardNavigatorBenchmark {
+
+    @Param({"10", "1000"})
+    private int numPages;
+    private WizardNavigator<ChainedPage> navigator;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Map<String, ChainedPage> pages = new HashMap<>();
+        pages.put(WizardPage.FIRST_PAGE_KEY, new ChainedPage("page0"));
+        for (int i = 0; i < numPages; i++) {
+            pages.put("page" + i, new ChainedPage(i < numPages - 1 ? "page" + (i + 1) : null));
+        }
+        navigator = new WizardNavigator<>(pages);
+    }
+
+    @Benchmark
+    public String nextAndPrevious() {
+        navigator.next();
+        return navigator.previous();
+    }
+
+    @Benchmark
+    public int walkToFinishAndReset() {
+        while (navigator.canGoNext()) {
+            navigator.next();
+        }
+        int numVisited = navigator.getHistory().size();
+        navigator.reset();
+        return numVisited;
+    }
+
+    private static final class ChainedPage implements WizardPageDescriptor {
+        private final Supplier<String> nextFunction;
+
+        ChainedPage(String nextKey) {
+            nextFunction = nextKey == null ? null : () -> nextKey;
+        }
+
+        @Override
+        public boolean isFinish() {
+            return nextFunction == null;
+        }
+
+        @Override
+        public Supplier<String> getNextFunction() {
+            return nextFunction;
+        }
+
+        @Override
+        public boolean isValid() {
+            return true;
+        }
+    }
+}
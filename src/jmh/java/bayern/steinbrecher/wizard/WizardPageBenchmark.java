@@ -0,0 +1,78 @@
+package bayern.steinbrecher.wizard;
+
+import bayern.steinbrecher.wizard.pages.Selection;
+import bayern.steinbrecher.wizard.pages.TablePage;
+import javafx.scene.Parent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures loading of wizard pages and switching between them.
+ *
+ * @author Stefan Huber
+ * @since 1.61
+ */
+@State(Scope.Thread)
+public class WizardPageBenchmark {
+
+    private static final int NUM_SELECTION_OPTIONS = 100;
+    private WizardPage<?, ?> selectionPage;
+    private WizardController wizardController;
+    private Method showNext;
+    private Method showPrevious;
+
+    private static TablePage createTablePage() {
+        TablePage page = new TablePage();
+        page.setContents(List.of(List.of("heading"), List.of("value")));
+        return page;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        FxBenchmarkSupport.startToolkit();
+
+        Set<String> options = IntStream.range(0, NUM_SELECTION_OPTIONS)
+                .mapToObj(i -> "option" + i)
+                .collect(Collectors.toSet());
+        selectionPage = new Selection<>(options);
+
+        TablePage firstPage = createTablePage();
+        firstPage.setFinishAndNext(false, () -> "second");
+        TablePage secondPage = createTablePage();
+        secondPage.setFinishAndNext(true, null);
+        Wizard wizard = FxBenchmarkSupport.callOnFxThread(
+                () -> Wizard.create(Map.of(WizardPage.FIRST_PAGE_KEY, firstPage, "second", secondPage)));
+        wizard.setPageTransition(PageTransitions.instant());
+
+        Field controllerField = Wizard.class.getDeclaredField("controller");
+        controllerField.setAccessible(true);
+        wizardController = (WizardController) controllerField.get(wizard);
+        showNext = FxBenchmarkSupport.findHandler(WizardController.class, "showNext");
+        showPrevious = FxBenchmarkSupport.findHandler(WizardController.class, "showPrevious");
+    }
+
+    @Benchmark
+    public Parent loadSelectionFxml() throws Exception {
+        return FxBenchmarkSupport.callOnFxThread(selectionPage::loadFXML);
+    }
+
+    @Benchmark
+    public EmbeddedWizardPage<?> switchPage() throws Exception {
+        return FxBenchmarkSupport.callOnFxThread(() -> {
+            showNext.invoke(wizardController);
+            showPrevious.invoke(wizardController);
+            return wizardController.getCurrentPage();
+        });
+    }
+}
@@ -0,0 +1,84 @@
+package bayern.steinbrecher.wizard.pages;
+
+import bayern.steinbrecher.wizard.FxBenchmarkSupport;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Method;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures filtering and selecting options of a {@link SelectionController}. Since options are searched on a
+ * background thread filtering waits until the matching options are shown.
+ *
+ * @author Stefan Huber
+ * @since 1.61
+ */
+@State(Scope.Thread)
+public class SelectionBenchmark {
+
+    private static final String[] QUERIES = {"1", "12", "123", "12", ""};
+    @Param({"10000", "100000", "1000000"})
+    private int numOptions;
+    private SelectionController<String> controller;
+    private TextField listSearch;
+    private ListView<?> optionsListView;
+    private int[] numMatches;
+    private Method selectAllOptions;
+    private Method selectNoOption;
+    private int nextQuery;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        FxBenchmarkSupport.startToolkit();
+        Set<String> options = IntStream.range(0, numOptions)
+                .mapToObj(i -> "option" + i)
+                .collect(Collectors.toSet());
+        FXMLLoader fxmlLoader = FxBenchmarkSupport.loadFxml(SelectionController.class.getResource("Selection.fxml"),
+                ResourceBundle.getBundle("bayern.steinbrecher.wizard.pages.Selection"));
+        controller = fxmlLoader.getController();
+        FxBenchmarkSupport.runOnFxThread(() -> controller.setOptions(options));
+        listSearch = (TextField) fxmlLoader.<Parent>getRoot().lookup("#listSearch");
+        optionsListView = (ListView<?>) fxmlLoader.<Parent>getRoot().lookup("#optionsListView");
+        numMatches = new int[QUERIES.length];
+        for (int i = 0; i < QUERIES.length; i++) {
+            String query = QUERIES[i];
+            numMatches[i] = (int) options.stream()
+                    .filter(option -> option.contains(query))
+                    .count();
+        }
+        selectAllOptions = FxBenchmarkSupport.findHandler(SelectionController.class, "selectAllOptions");
+        selectNoOption = FxBenchmarkSupport.findHandler(SelectionController.class, "selectNoOption");
+    }
+
+    @Benchmark
+    public String filter() throws Exception {
+        String query = QUERIES[nextQuery];
+        int expectedMatches = numMatches[nextQuery];
+        nextQuery = (nextQuery + 1) % QUERIES.length;
+        FxBenchmarkSupport.runOnFxThread(() -> listSearch.setText(query));
+        while (FxBenchmarkSupport.callOnFxThread(() -> optionsListView.getItems().size()) != expectedMatches) {
+            Thread.onSpinWait();
+        }
+        return query;
+    }
+
+    @Benchmark
+    public int selectAllAndNothing() throws Exception {
+        FxBenchmarkSupport.invokeHandler(selectAllOptions, controller);
+        int selectedCount = controller.getSelectedCount();
+        FxBenchmarkSupport.invokeHandler(selectNoOption, controller);
+        return selectedCount;
+    }
+}
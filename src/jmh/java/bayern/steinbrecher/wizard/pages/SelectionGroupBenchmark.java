@@ -0,0 +1,58 @@
+package bayern.steinbrecher.wizard.pages;
+
+import bayern.steinbrecher.wizard.FxBenchmarkSupport;
+import com.google.common.collect.HashBiMap;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.paint.Color;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures the calculation of the result of a {@link SelectionGroupController}.
+ *
+ * @author Stefan Huber
+ * @since 1.61
+ */
+@State(Scope.Thread)
+public class SelectionGroupBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int numOptions;
+    private SelectionGroupController<String, String> controller;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        FxBenchmarkSupport.startToolkit();
+        Set<String> options = IntStream.range(0, numOptions)
+                .mapToObj(i -> "option" + i)
+                .collect(Collectors.toSet());
+        HashBiMap<String, Color> groups = HashBiMap.create(Map.of("groupA", Color.RED, "groupB", Color.BLUE));
+        FXMLLoader fxmlLoader = FxBenchmarkSupport.loadFxml(
+                SelectionGroupController.class.getResource("SelectionGroup.fxml"),
+                ResourceBundle.getBundle("bayern.steinbrecher.wizard.pages.Selection"));
+        controller = fxmlLoader.getController();
+        FxBenchmarkSupport.runOnFxThread(() -> {
+            controller.setGroups(groups);
+            controller.setOptions(options);
+        });
+        // Associate all options with the initially selected group
+        FxBenchmarkSupport.invokeHandler(
+                FxBenchmarkSupport.findHandler(SelectionGroupController.class, "selectAllOptions"), controller);
+    }
+
+    @Benchmark
+    public Optional<Map<String, String>> calculateResult() {
+        return controller.getResult();
+    }
+}
@@ -0,0 +1,73 @@
+package bayern.steinbrecher.wizard.pages;
+
+import bayern.steinbrecher.wizard.FxBenchmarkSupport;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.ResourceBundle;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures setting and sorting the contents of a {@link TablePageController}.
+ *
+ * @author Stefan Huber
+ * @since 1.61
+ */
+@State(Scope.Thread)
+public class TablePageBenchmark {
+
+    private static final int NUM_COLUMNS = 10;
+    @Param({"10000", "100000"})
+    private int numRows;
+    private List<List<String>> contents;
+    private TablePageController controller;
+    private TableView<List<String>> resultView;
+    private int nextSortColumn;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() throws Exception {
+        FxBenchmarkSupport.startToolkit();
+        Random random = new Random(42);
+        contents = new ArrayList<>(numRows + 1);
+        contents.add(IntStream.range(0, NUM_COLUMNS)
+                .mapToObj(column -> "column" + column)
+                .collect(Collectors.toList()));
+        for (int row = 0; row < numRows; row++) {
+            contents.add(IntStream.range(0, NUM_COLUMNS)
+                    .mapToObj(column -> Integer.toString(random.nextInt()))
+                    .collect(Collectors.toList()));
+        }
+        FXMLLoader fxmlLoader = FxBenchmarkSupport.loadFxml(TablePageController.class.getResource("TablePage.fxml"),
+                ResourceBundle.getBundle("bayern.steinbrecher.wizard.pages.TablePage"));
+        controller = fxmlLoader.getController();
+        resultView = (TableView<List<String>>) fxmlLoader.<Parent>getRoot().lookup("#resultView");
+        FxBenchmarkSupport.runOnFxThread(() -> controller.setContents(contents));
+    }
+
+    @Benchmark
+    public int setContents() throws Exception {
+        FxBenchmarkSupport.runOnFxThread(() -> controller.setContents(contents));
+        return controller.getResults().size();
+    }
+
+    @Benchmark
+    public List<String> sort() throws Exception {
+        TableColumn<List<String>, ?> sortColumn = resultView.getColumns().get(nextSortColumn);
+        nextSortColumn = (nextSortColumn + 1) % NUM_COLUMNS;
+        FxBenchmarkSupport.runOnFxThread(() -> resultView.getSortOrder().setAll(List.of(sortColumn)));
+        return controller.getResults().get(0);
+    }
+}
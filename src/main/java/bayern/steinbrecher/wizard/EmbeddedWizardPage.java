@@ -2,13 +2,14 @@ package bayern.steinbrecher.wizard;
 
 import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.ReadOnlyObjectProperty;
-import javafx.fxml.LoadException;
 import javafx.scene.Parent;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Supplier;
 
 /**
@@ -23,9 +24,9 @@ public final class EmbeddedWizardPage<T extends Optional<?>> {
     private final WizardPage<T, ?> page;
     private final Parent root;
 
-    EmbeddedWizardPage(@NotNull WizardPage<T, ?> page) throws LoadException {
+    EmbeddedWizardPage(@NotNull WizardPage<T, ?> page, @NotNull Parent root) {
         this.page = Objects.requireNonNull(page);
-        this.root = page.loadFXML();
+        this.root = Objects.requireNonNull(root);
     }
 
     @NotNull
@@ -43,6 +44,30 @@ public final class EmbeddedWizardPage<T extends Optional<?>> {
         return nextFunctionProperty().getValue();
     }
 
+    /**
+     * @since 1.61
+     */
+    @NotNull
+    public ReadOnlyObjectProperty<Supplier<? extends CompletionStage<String>>> asyncNextFunctionProperty() {
+        return page.asyncNextFunctionProperty();
+    }
+
+    /**
+     * @since 1.61
+     */
+    @Nullable
+    public Supplier<? extends CompletionStage<String>> getAsyncNextFunction() {
+        return asyncNextFunctionProperty().getValue();
+    }
+
+    /**
+     * @since 1.61
+     */
+    @NotNull
+    public Set<String> getPrefetchCandidates() {
+        return page.getPrefetchCandidates();
+    }
+
     public boolean isFinish() {
         return page.isFinish();
     }
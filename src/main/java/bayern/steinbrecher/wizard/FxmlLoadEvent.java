@@ -0,0 +1,26 @@
+package bayern.steinbrecher.wizard;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded whenever the FXML description of a {@link WizardPage} is parsed and its nodes and controller are created.
+ *
+ * @author Stefan Huber
+ * @since 1.61
+ */
+@Name("bayern.steinbrecher.wizard.FxmlLoad")
+@Label("FXML Load")
+@Category({"Wizard"})
+@Description("Parsing of the FXML description of a wizard page")
+final class FxmlLoadEvent extends Event {
+    @Label("Page Key")
+    String pageKey;
+    @Label("Page Class")
+    Class<?> pageClass;
+    @Label("Resource")
+    String resource;
+}
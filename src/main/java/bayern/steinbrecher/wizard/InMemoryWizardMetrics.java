@@ -0,0 +1,107 @@
+package bayern.steinbrecher.wizard;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects measurements of {@link Wizard}s in memory. Each combination of page key and {@link WizardMetric} is
+ * summarized by a histogram whose buckets double in size. Hence recording takes constant time and memory regardless of
+ * the number of measurements. Use {@link #snapshot()} for exporting the collected measurements, e.g. for finding the
+ * slowest pages of a wizard in production.
+ *
+ * @author Stefan Huber
+ * @since 1.61
+ */
+public final class InMemoryWizardMetrics implements WizardMetrics {
+
+    private final Map<MetricKey, Recorder> recorders = new ConcurrentHashMap<>();
+
+    private void record(@NotNull String pageKey, @NotNull WizardMetric metric, long nanos) {
+        recorders.computeIfAbsent(new MetricKey(Objects.requireNonNull(pageKey), metric), key -> new Recorder())
+                .record(Math.max(0, nanos));
+    }
+
+    @Override
+    public void recordFxmlLoad(@NotNull String pageKey, long nanos) {
+        record(pageKey, WizardMetric.FXML_LOAD, nanos);
+    }
+
+    @Override
+    public void recordControllerInitialization(@NotNull String pageKey, long nanos) {
+        record(pageKey, WizardMetric.CONTROLLER_INITIALIZATION, nanos);
+    }
+
+    @Override
+    public void recordNextFunction(@NotNull String pageKey, long nanos) {
+        record(pageKey, WizardMetric.NEXT_FUNCTION, nanos);
+    }
+
+    @Override
+    public void recordTransition(@NotNull String pageKey, long nanos) {
+        record(pageKey, WizardMetric.TRANSITION, nanos);
+    }
+
+    @Override
+    public void recordTimeOnPage(@NotNull String pageKey, long nanos) {
+        record(pageKey, WizardMetric.TIME_ON_PAGE, nanos);
+    }
+
+    @Override
+    public void recordValidityRecomputation(@NotNull String pageKey) {
+        record(pageKey, WizardMetric.VALIDITY_RECOMPUTATION, 0);
+    }
+
+    /**
+     * Returns an immutable copy of all measurements collected so far. Measurements recorded concurrently to the
+     * creation of the snapshot may be contained only partially.
+     */
+    @NotNull
+    public WizardMetricsSnapshot snapshot() {
+        Map<String, Map<WizardMetric, WizardMetricsSnapshot.Histogram>> histograms = new HashMap<>();
+        recorders.forEach((key, recorder) -> histograms
+                .computeIfAbsent(key.pageKey(), pageKey -> new EnumMap<>(WizardMetric.class))
+                .put(key.metric(), recorder.snapshot()));
+        return new WizardMetricsSnapshot(histograms);
+    }
+
+    /**
+     * Discards all measurements collected so far.
+     */
+    public void reset() {
+        recorders.clear();
+    }
+
+    private record MetricKey(@NotNull String pageKey, @NotNull WizardMetric metric) {
+    }
+
+    private static final class Recorder {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final AtomicLongArray bucketCounts = new AtomicLongArray(WizardMetricsSnapshot.Histogram.NUM_BUCKETS);
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            bucketCounts.incrementAndGet(WizardMetricsSnapshot.Histogram.bucketOf(nanos));
+        }
+
+        @NotNull
+        WizardMetricsSnapshot.Histogram snapshot() {
+            long[] buckets = new long[bucketCounts.length()];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = bucketCounts.get(i);
+            }
+            return new WizardMetricsSnapshot.Histogram(count.sum(), totalNanos.sum(), maxNanos.get(), buckets);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package bayern.steinbrecher.wizard;
+
+/**
+ * Describes how a page change of a {@link Wizard} relates to its history.
+ *
+ * @author Stefan Huber
+ * @since 1.61
+ */
+public enum NavigationDirection {
+    /**
+     * The next page was requested.
+     */
+    FORWARD,
+    /**
+     * The previous page was requested.
+     */
+    BACKWARD,
+    /**
+     * The page was replaced without relation to the previous page, e.g. when the wizard was reset to its first page.
+     */
+    NONE
+}
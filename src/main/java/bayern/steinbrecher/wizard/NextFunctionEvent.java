@@ -0,0 +1,26 @@
+package bayern.steinbrecher.wizard;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded whenever a {@link Wizard} evaluates the next-function of its current page.
+ *
+ * @author Stefan Huber
+ * @since 1.61
+ */
+@Name("bayern.steinbrecher.wizard.NextFunction")
+@Label("Next-Function")
+@Category({"Wizard"})
+@Description("Evaluation of the next-function of a wizard page")
+final class NextFunctionEvent extends Event {
+    @Label("Page Key")
+    String pageKey;
+    @Label("Page Class")
+    Class<?> pageClass;
+    @Label("Next Page Key")
+    String nextPageKey;
+}
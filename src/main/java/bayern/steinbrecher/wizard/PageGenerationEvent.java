@@ -0,0 +1,27 @@
+package bayern.steinbrecher.wizard;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded whenever a {@link WizardPage} generates its {@link EmbeddedWizardPage} including loading its FXML and
+ * initializing its controller.
+ *
+ * @author Stefan Huber
+ * @since 1.61
+ */
+@Name("bayern.steinbrecher.wizard.PageGeneration")
+@Label("Page Generation")
+@Category({"Wizard"})
+@Description("Generation of the content of a wizard page")
+final class PageGenerationEvent extends Event {
+    @Label("Page Key")
+    String pageKey;
+    @Label("Page Class")
+    Class<?> pageClass;
+    @Label("Restored From Snapshot")
+    boolean restored;
+}
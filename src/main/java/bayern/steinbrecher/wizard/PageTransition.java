@@ -0,0 +1,30 @@
+package bayern.steinbrecher.wizard;
+
+import javafx.animation.Animation;
+import javafx.scene.Node;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Describes the animation which is played when a {@link Wizard} changes its current page. Whenever a transition
+ * finishes or gets interrupted by another page change the {@link Wizard} removes the outgoing node and resets the
+ * translation, the opacity and the caching properties of both nodes. Hence implementations do not have to restore
+ * these properties themselves. See {@link PageTransitions} for common implementations.
+ *
+ * @author Stefan Huber
+ * @since 1.61
+ */
+@FunctionalInterface
+public interface PageTransition {
+    /**
+     * Creates the animation for changing from {@code outgoing} to {@code incoming}. At the time of calling both
+     * nodes are children of the same container and {@code incoming} is shown on top of {@code outgoing}.
+     *
+     * @param outgoing  The node of the page shown until now.
+     * @param incoming  The node of the page to show.
+     * @param direction Either {@link NavigationDirection#FORWARD} or {@link NavigationDirection#BACKWARD}.
+     * @return The animation to play or {@code null} if the page should change instantly.
+     */
+    @Nullable
+    Animation createAnimation(@NotNull Node outgoing, @NotNull Node incoming, @NotNull NavigationDirection direction);
+}
@@ -0,0 +1,27 @@
+package bayern.steinbrecher.wizard;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded whenever a {@link Wizard} changes its current page. The event lasts until the transition finished or got
+ * interrupted.
+ *
+ * @author Stefan Huber
+ * @since 1.61
+ */
+@Name("bayern.steinbrecher.wizard.PageTransition")
+@Label("Page Transition")
+@Category({"Wizard"})
+@Description("Change of the current page of a wizard including its transition")
+final class PageTransitionEvent extends Event {
+    @Label("Page Key")
+    String pageKey;
+    @Label("Page Class")
+    Class<?> pageClass;
+    @Label("Direction")
+    String direction;
+}
@@ -0,0 +1,101 @@
+package bayern.steinbrecher.wizard;
+
+import javafx.animation.FadeTransition;
+import javafx.animation.Interpolator;
+import javafx.animation.ParallelTransition;
+import javafx.animation.TranslateTransition;
+import javafx.scene.CacheHint;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.util.Duration;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Contains common implementations of {@link PageTransition}.
+ *
+ * @author Stefan Huber
+ * @since 1.61
+ */
+public final class PageTransitions {
+
+    private static final Duration REDUCED_MOTION_DURATION = Duration.millis(150);
+
+    private PageTransitions() {
+        throw new UnsupportedOperationException("Construction of an object is not allowed");
+    }
+
+    /**
+     * @return A {@link PageTransition} which changes pages without any animation.
+     */
+    @NotNull
+    public static PageTransition instant() {
+        return (outgoing, incoming, direction) -> null;
+    }
+
+    /**
+     * Creates a {@link PageTransition} which swipes the incoming page in and the outgoing page out. Both pages are
+     * only translated and cached as bitmaps while being animated.
+     *
+     * @param duration The duration of the swipe.
+     * @return The {@link PageTransition} representing the swipe.
+     */
+    @NotNull
+    public static PageTransition slide(@NotNull Duration duration) {
+        Objects.requireNonNull(duration);
+        return (outgoing, incoming, direction) -> {
+            Parent container = incoming.getParent();
+            double width = container == null
+                    ? incoming.getLayoutBounds().getWidth()
+                    : container.getLayoutBounds().getWidth();
+            double offset = direction == NavigationDirection.BACKWARD ? -width : width;
+
+            TranslateTransition slideIn = new TranslateTransition(duration, prepareForAnimation(incoming));
+            slideIn.setFromX(offset);
+            slideIn.setToX(0);
+            TranslateTransition slideOut = new TranslateTransition(duration, prepareForAnimation(outgoing));
+            slideOut.setFromX(0);
+            slideOut.setToX(-offset);
+
+            ParallelTransition slide = new ParallelTransition(slideIn, slideOut);
+            slide.setInterpolator(Interpolator.EASE_BOTH);
+            return slide;
+        };
+    }
+
+    /**
+     * Creates a {@link PageTransition} which cross-fades between the pages without moving them.
+     *
+     * @param duration The duration of the cross-fade.
+     * @return The {@link PageTransition} representing the cross-fade.
+     */
+    @NotNull
+    public static PageTransition fade(@NotNull Duration duration) {
+        Objects.requireNonNull(duration);
+        return (outgoing, incoming, direction) -> {
+            FadeTransition fadeIn = new FadeTransition(duration, prepareForAnimation(incoming));
+            fadeIn.setFromValue(0);
+            fadeIn.setToValue(1);
+            FadeTransition fadeOut = new FadeTransition(duration, prepareForAnimation(outgoing));
+            fadeOut.setFromValue(1);
+            fadeOut.setToValue(0);
+            return new ParallelTransition(fadeIn, fadeOut);
+        };
+    }
+
+    /**
+     * @return A {@link PageTransition} for users who prefer reduced motion. It only shows a short cross-fade.
+     */
+    @NotNull
+    public static PageTransition reducedMotion() {
+        return fade(REDUCED_MOTION_DURATION);
+    }
+
+    @NotNull
+    private static Node prepareForAnimation(@NotNull Node node) {
+        node.setCache(true);
+        node.setCacheHint(CacheHint.SPEED);
+        return node;
+    }
+}
@@ -1,5 +1,8 @@
 package bayern.steinbrecher.wizard;
 
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.ReadOnlyProperty;
@@ -10,10 +13,12 @@ import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.concurrent.Executor;
 
 /**
  * Represents a wizard for showing a sequence of {@code Pane}s. You can step back and forward on these {@code Panes} and
@@ -23,6 +28,7 @@ import java.util.ResourceBundle;
  * <li>wizard</li>
  * <li>wizard-content</li>
  * <li>wizard-controls</li>
+ * <li>wizard-busy-indicator</li>
  * </ul>
  *
  * @author Stefan Huber
@@ -67,6 +73,15 @@ public final class Wizard {
         controller.putPage(key, page);
     }
 
+    /**
+     * @see WizardController#updateVisitablePages(Map, Collection)
+     * @since 1.61
+     */
+    public void updatePages(@NotNull Map<String, WizardPage<?, ?>> putPages,
+                            @NotNull Collection<String> removedPageKeys) {
+        controller.updateVisitablePages(putPages, removedPageKeys);
+    }
+
     @NotNull
     public Parent getRoot() {
         return root;
@@ -118,6 +133,149 @@ public final class Wizard {
         return atFinishProperty().get();
     }
 
+    /**
+     * @see WizardController#pageTransitionProperty()
+     * @since 1.61
+     */
+    @NotNull
+    public ObjectProperty<PageTransition> pageTransitionProperty() {
+        return controller.pageTransitionProperty();
+    }
+
+    /**
+     * @since 1.61
+     */
+    @NotNull
+    public PageTransition getPageTransition() {
+        return pageTransitionProperty().get();
+    }
+
+    /**
+     * @since 1.61
+     */
+    public void setPageTransition(@NotNull PageTransition pageTransition) {
+        controller.setPageTransition(pageTransition);
+    }
+
+    /**
+     * @see WizardController#prefetchEnabledProperty()
+     * @since 1.61
+     */
+    @NotNull
+    public BooleanProperty prefetchEnabledProperty() {
+        return controller.prefetchEnabledProperty();
+    }
+
+    /**
+     * @since 1.61
+     */
+    public boolean isPrefetchEnabled() {
+        return prefetchEnabledProperty().get();
+    }
+
+    /**
+     * @since 1.61
+     */
+    public void setPrefetchEnabled(boolean prefetchEnabled) {
+        prefetchEnabledProperty().set(prefetchEnabled);
+    }
+
+    /**
+     * @see WizardController#prefetchExecutorProperty()
+     * @since 1.61
+     */
+    @NotNull
+    public ObjectProperty<Executor> prefetchExecutorProperty() {
+        return controller.prefetchExecutorProperty();
+    }
+
+    /**
+     * @since 1.61
+     */
+    public void setPrefetchExecutor(@NotNull Executor prefetchExecutor) {
+        controller.setPrefetchExecutor(prefetchExecutor);
+    }
+
+    /**
+     * @see WizardController#maxRetainedPagesProperty()
+     * @since 1.61
+     */
+    @NotNull
+    public IntegerProperty maxRetainedPagesProperty() {
+        return controller.maxRetainedPagesProperty();
+    }
+
+    /**
+     * @since 1.61
+     */
+    public int getMaxRetainedPages() {
+        return maxRetainedPagesProperty().get();
+    }
+
+    /**
+     * @see WizardController#setMaxRetainedPages(int)
+     * @since 1.61
+     */
+    public void setMaxRetainedPages(int maxRetainedPages) {
+        controller.setMaxRetainedPages(maxRetainedPages);
+    }
+
+    /**
+     * @see WizardController#nextFunctionExecutorProperty()
+     * @since 1.61
+     */
+    @NotNull
+    public ObjectProperty<Executor> nextFunctionExecutorProperty() {
+        return controller.nextFunctionExecutorProperty();
+    }
+
+    /**
+     * @since 1.61
+     */
+    public void setNextFunctionExecutor(@NotNull Executor nextFunctionExecutor) {
+        controller.setNextFunctionExecutor(nextFunctionExecutor);
+    }
+
+    /**
+     * @see WizardController#busyProperty()
+     * @since 1.61
+     */
+    @NotNull
+    public ReadOnlyBooleanProperty busyProperty() {
+        return controller.busyProperty();
+    }
+
+    /**
+     * @since 1.61
+     */
+    public boolean isBusy() {
+        return busyProperty().get();
+    }
+
+    /**
+     * @see WizardController#metricsProperty()
+     * @since 1.61
+     */
+    @NotNull
+    public ObjectProperty<WizardMetrics> metricsProperty() {
+        return controller.metricsProperty();
+    }
+
+    /**
+     * @since 1.61
+     */
+    @NotNull
+    public WizardMetrics getMetrics() {
+        return metricsProperty().get();
+    }
+
+    /**
+     * @since 1.61
+     */
+    public void setMetrics(@NotNull WizardMetrics metrics) {
+        controller.setMetrics(metrics);
+    }
+
     @NotNull
     public ReadOnlyProperty<EmbeddedWizardPage<?>> currentPageProperty() {
         return controller.currentPageProperty();
@@ -1,21 +1,29 @@
 package bayern.steinbrecher.wizard;
 
-import javafx.animation.ParallelTransition;
-import javafx.animation.PathTransition;
+import javafx.animation.Animation;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.binding.BooleanBinding;
 import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.MapProperty;
+import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.ReadOnlyBooleanWrapper;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleMapProperty;
-import javafx.beans.property.SimpleStringProperty;
-import javafx.beans.property.StringProperty;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.FXCollections;
+import javafx.collections.MapChangeListener;
+import javafx.collections.ObservableMap;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.fxml.LoadException;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.CacheHint;
 import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.control.ScrollPane;
@@ -24,22 +32,24 @@ import javafx.scene.layout.Pane;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
-import javafx.scene.shape.HLineTo;
-import javafx.scene.shape.MoveTo;
-import javafx.scene.shape.Path;
+import javafx.stage.Screen;
 import javafx.util.Duration;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
-import java.awt.Dimension;
-import java.awt.Toolkit;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Stack;
-import java.util.function.Consumer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -53,19 +63,49 @@ public final class WizardController {
     private static final Logger LOGGER = Logger.getLogger(WizardController.class.getName());
     private static final String WIZARD_CONTENT_STYLECLASS = "wizard-content";
     private static final Duration SWIPE_DURATION = Duration.seconds(0.75);
+    private static final PageTransition DEFAULT_PAGE_TRANSITION = PageTransitions.slide(SWIPE_DURATION);
     /**
      * The percentage of height/width the wizard has to have initially.
      */
     private static final double MAX_SIZE_FACTOR = 0.8;
+    private static final Executor BACKGROUND_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "wizard-background");
+        thread.setDaemon(true);
+        return thread;
+    });
 
+    private final WizardNavigator<WizardPage<?, ?>> navigator = new WizardNavigator<>();
     private final MapProperty<String, WizardPage<?, ?>> visitablePages = new SimpleMapProperty<>();
-    private final StringProperty currentIndex = new SimpleStringProperty();
+    private final MapChangeListener<String, WizardPage<?, ?>> visitablePagesChange = new MapChangeListener<>() {
+        @Override
+        public void onChanged(Change<? extends String, ? extends WizardPage<?, ?>> change) {
+            String pageIndex = change.getKey();
+            if (!change.wasAdded() && WizardPage.FIRST_PAGE_KEY.equals(pageIndex)) {
+                // NOTE Put the first page back without forwarding it since the navigator never saw its removal
+                ObservableMap<String, WizardPage<?, ?>> pages = visitablePages.get();
+                pages.removeListener(this);
+                pages.put(pageIndex, change.getValueRemoved());
+                pages.addListener(this);
+                throw new IllegalArgumentException(
+                        "The page with the key WizardPage.FIRST_PAGE_KEY can not be removed");
+            }
+            if (change.wasAdded()) {
+                navigator.updatePages(Map.of(pageIndex, change.getValueAdded()), List.of());
+            } else {
+                navigator.updatePages(Map.of(), List.of(pageIndex));
+            }
+            dropStaleRetainedPages();
+        }
+    };
     private final ReadOnlyObjectWrapper<EmbeddedWizardPage<?>> currentPage = new ReadOnlyObjectWrapper<>(null);
-    private final Stack<String> history = new Stack<>();
+    /**
+     * The valid property of the current page the listeners of this controller are attached to if any. It is kept since
+     * the previous page may already be unloaded and therefore without controller when the current page changes.
+     */
+    private ReadOnlyBooleanProperty observedPageValidity;
 
     private final ReadOnlyBooleanWrapper atBeginning = new ReadOnlyBooleanWrapper();
     private final ReadOnlyBooleanWrapper atFinish = new ReadOnlyBooleanWrapper(false);
-    private final ReadOnlyBooleanWrapper changingPage = new ReadOnlyBooleanWrapper(false);
 
     private final ReadOnlyBooleanWrapper previousDisallowed = new ReadOnlyBooleanWrapper();
     private final ReadOnlyBooleanWrapper nextDisallowed = new ReadOnlyBooleanWrapper();
@@ -73,172 +113,410 @@ public final class WizardController {
 
     private final ReadOnlyObjectWrapper<WizardState> state = new ReadOnlyObjectWrapper<>(WizardState.RUNNING);
 
+    private final ObjectProperty<Executor> nextFunctionExecutor = new SimpleObjectProperty<>(BACKGROUND_EXECUTOR);
+    private final ReadOnlyBooleanWrapper busy = new ReadOnlyBooleanWrapper(false);
+    /**
+     * The invocation of the asynchronous next-function of the current page which is currently evaluated if any.
+     */
+    private CompletableFuture<? extends CompletionStage<String>> pendingNextInvocation;
+
+    private final ObjectProperty<PageTransition> pageTransition = new SimpleObjectProperty<>(DEFAULT_PAGE_TRANSITION);
+
+    private final BooleanProperty prefetchEnabled = new SimpleBooleanProperty(false);
+    private final ObjectProperty<Executor> prefetchExecutor = new SimpleObjectProperty<>(BACKGROUND_EXECUTOR);
+    private final Map<String, CompletableFuture<?>> pendingPrefetches = new HashMap<>();
+
+    private final IntegerProperty maxRetainedPages = new SimpleIntegerProperty(Integer.MAX_VALUE);
+    /**
+     * The currently generated pages ordered from the least recently to the most recently used one.
+     */
+    private final Map<String, WizardPage<?, ?>> retainedPages = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final ObjectProperty<WizardMetrics> metrics = new SimpleObjectProperty<>(WizardMetrics.NO_OP);
+    /**
+     * The key of the page whose time on page is currently measured if any.
+     */
+    private String timedPageIndex;
+    private long timedPageShownSince;
+
     @FXML
     private ScrollPane scrollContent;
     @FXML
     private StackPane contents;
 
     /**
-     * {@code null} --> dont swipe, just change
-     * {@code true} --> swipe to left
-     * {@code false} --> swipe to right.
+     * The transition between two pages which is currently played if any.
      */
-    private Boolean swipeToLeft = null;
+    private Animation runningTransition;
+    /**
+     * The actions to execute as soon as the currently running transition finishes or gets interrupted.
+     */
+    private Runnable completeRunningTransition;
 
     /**
-     * @param nextIndex Iff {@code null} switch to previous page otherwise switch to next page (created from the
-     *                  {@link WizardPage} with the given ID.
+     * Jumps to the end of the currently running transition (if any) such that another page change can start
+     * immediately.
      */
-    private void initializePageChange(@Nullable String nextIndex) {
-        boolean switchToNext = nextIndex != null;
-        swipeToLeft = switchToNext;
-        if (switchToNext) {
-            if (!getVisitablePages().containsKey(nextIndex)) {
-                throw new PageNotFoundException(
-                        String.format("Wizard contains no page with key \"%s\".", nextIndex));
-            }
-            history.push(nextIndex);
-            currentIndex.set(nextIndex);
-        } else {
-            history.pop(); // Pop current index
-            currentIndex.set(history.peek());
+    private void finishRunningTransition() {
+        if (runningTransition != null) {
+            runningTransition.stop();
+            completeRunningTransition.run();
         }
     }
 
-    private void performPageChange(String nextIndex) {
-        changingPage.set(true);
+    private static void resetTransitionProperties(@NotNull Node pane) {
+        pane.setTranslateX(0);
+        pane.setTranslateY(0);
+        pane.setOpacity(1);
+        pane.setCache(false);
+        pane.setCacheHint(CacheHint.DEFAULT);
+    }
+
+    private void performPageChange(@NotNull String nextIndex, @NotNull NavigationDirection navigationDirection) {
+        finishRunningTransition();
 
         ObservableList<Node> addedContents = contents.getChildren();
         Optional<Node> optCurrentPane
                 = Optional.ofNullable(addedContents.isEmpty() ? null : addedContents.get(0));
         assert optCurrentPane.isEmpty()
                 || optCurrentPane.get() instanceof Pane : "The current content of this wizard is not a pane.";
-        Consumer<Node> removeCurrentPane = currentPane -> {
-            currentPane.getStyleClass().remove(WIZARD_CONTENT_STYLECLASS);
-            if (!contents.getChildren().remove(currentPane)) {
-                LOGGER.log(Level.SEVERE, "The currently shown content of the wizard could not be removed.");
-            }
-        };
 
-        WizardPage<?, ?> nextPage = visitablePages.get(nextIndex);
+        PageTransitionEvent transitionEvent = new PageTransitionEvent();
+        transitionEvent.begin();
+        WizardPage<?, ?> nextPage = navigator.getPage(nextIndex);
         EmbeddedWizardPage<?> nextEmbeddedPage;
         try {
-            nextEmbeddedPage = nextPage.generateEmbeddableWizardPage();
+            nextEmbeddedPage = nextPage.generateEmbeddableWizardPage(nextIndex, getMetrics());
         } catch (LoadException ex) {
             throw new IllegalStateException(
                     String.format("Could not create wizard page with index %s", nextIndex), ex);
         }
+        retain(nextIndex, nextPage);
         Parent nextPane = nextEmbeddedPage.getRoot();
         HBox.setHgrow(nextPane, Priority.ALWAYS);
         VBox.setVgrow(nextPane, Priority.ALWAYS);
-        if (optCurrentPane.isEmpty() || optCurrentPane.get() != nextPane) {
+        Optional<Node> optOutgoingPane = optCurrentPane.filter(currentPane -> currentPane != nextPane);
+        if (optCurrentPane.isEmpty() || optOutgoingPane.isPresent()) {
             contents.getChildren().add(nextPane);
             nextPane.getStyleClass().add(WIZARD_CONTENT_STYLECLASS);
         }
 
-        if (swipeToLeft == null) {
-            optCurrentPane.ifPresent(removeCurrentPane);
-            changingPage.set(false);
-        } else {
-            double halfParentWidth = nextPane.getParent().getLayoutBounds().getWidth() / 2;
-            double halfParentHeight = nextPane.getParent().getLayoutBounds().getHeight() / 2;
-            double marginInScene = nextPane.getScene().getWidth() / 2 - halfParentWidth;
-            //CHECKSTYLE.OFF: MagicNumber - The factor 3 is needed to make the initial x position outside the
-            // view.
-            double xRightOuter = 3 * halfParentWidth + marginInScene;
-            //CHECKSTYLE.ON: MagicNumber
-            double xLeftOuter = -halfParentWidth - marginInScene;
-
-            ParallelTransition overallTrans = new ParallelTransition();
-
-            //Swipe new element in
-            MoveTo initialMoveIn = new MoveTo(swipeToLeft ? xRightOuter : xLeftOuter, halfParentHeight);
-            HLineTo hlineIn = new HLineTo(halfParentWidth);
-            Path pathIn = new Path(initialMoveIn, hlineIn);
-            PathTransition pathTransIn = new PathTransition(SWIPE_DURATION, pathIn, nextPane);
-            overallTrans.getChildren().add(pathTransIn);
-
-            optCurrentPane.ifPresent(currentPane -> {
-                //Swipe old element out
-                MoveTo initialMoveOut = new MoveTo(halfParentWidth, halfParentHeight);
-                HLineTo hlineOut = new HLineTo(swipeToLeft ? xLeftOuter : xRightOuter);
-                Path pathOut = new Path(initialMoveOut, hlineOut);
-                PathTransition pathTransOut = new PathTransition(SWIPE_DURATION, pathOut, currentPane);
-                pathTransOut.setOnFinished(aevt -> removeCurrentPane.accept(currentPane));
-                overallTrans.getChildren().add(pathTransOut);
+        long transitionStart = System.nanoTime();
+        Runnable completeTransition = () -> {
+            getMetrics().recordTransition(nextIndex, System.nanoTime() - transitionStart);
+            if (transitionEvent.shouldCommit()) {
+                transitionEvent.pageKey = nextIndex;
+                transitionEvent.pageClass = nextPage.getClass();
+                transitionEvent.direction = navigationDirection.name();
+                transitionEvent.commit();
+            }
+            runningTransition = null;
+            completeRunningTransition = null;
+            optOutgoingPane.ifPresent(outgoingPane -> {
+                outgoingPane.getStyleClass().remove(WIZARD_CONTENT_STYLECLASS);
+                if (!contents.getChildren().remove(outgoingPane)) {
+                    LOGGER.log(Level.SEVERE, "The currently shown content of the wizard could not be removed.");
+                }
+                resetTransitionProperties(outgoingPane);
             });
-
-            overallTrans.setOnFinished(aevt -> changingPage.set(false));
-            overallTrans.playFromStart();
+            resetTransitionProperties(nextPane);
+        };
+        Animation transition = null;
+        if (navigationDirection != NavigationDirection.NONE && optOutgoingPane.isPresent()) {
+            transition = getPageTransition()
+                    .createAnimation(optOutgoingPane.get(), nextPane, navigationDirection);
+        }
+        if (transition == null) {
+            completeTransition.run();
+        } else {
+            runningTransition = transition;
+            completeRunningTransition = completeTransition;
+            transition.setOnFinished(aevt -> completeTransition.run());
+            transition.playFromStart();
         }
 
-        atBeginning.set(history.size() < 2);
+        atBeginning.set(navigator.isAtBeginning());
         atFinish.set(nextPage.isFinish());
         currentPage.setValue(nextEmbeddedPage);
     }
 
+    /**
+     * Generates the pages which the current page declares as its prefetch candidates in the background. Next-functions
+     * are never evaluated speculatively since they may have side effects.
+     */
+    private void prefetchSuccessors() {
+        EmbeddedWizardPage<?> page = getCurrentPage();
+        if (isPrefetchEnabled() && page != null) {
+            page.getPrefetchCandidates()
+                    .forEach(this::prefetch);
+        }
+    }
+
+    private void prefetch(@NotNull String pageIndex) {
+        WizardPage<?, ?> page = getVisitablePages() == null ? null : getVisitablePages().get(pageIndex);
+        if (page != null && !page.isGenerated() && !pendingPrefetches.containsKey(pageIndex)) {
+            CompletableFuture<?> generation
+                    = page.generateEmbeddableWizardPageAsync(getPrefetchExecutor(), pageIndex, getMetrics());
+            pendingPrefetches.put(pageIndex, generation.whenComplete((generatedPage, ex) -> Platform.runLater(() -> {
+                pendingPrefetches.remove(pageIndex);
+                if (ex == null) {
+                    if (getVisitablePages().get(pageIndex) == page) {
+                        retain(pageIndex, page);
+                    }
+                } else {
+                    LOGGER.log(Level.WARNING,
+                            String.format("Could not prefetch wizard page with index %s", pageIndex), ex);
+                }
+            })));
+        }
+    }
+
+    /**
+     * Marks the given generated page as the most recently used one and unloads the least recently used pages which
+     * exceed {@link #getMaxRetainedPages()}.
+     */
+    private void retain(@NotNull String pageIndex, @NotNull WizardPage<?, ?> page) {
+        retainedPages.put(pageIndex, page);
+        unloadExcessPages();
+    }
+
+    /**
+     * Recreates the given unloaded page and tracks it like any other generated page.
+     */
+    private void reload(@NotNull String pageIndex, @NotNull WizardPage<?, ?> page) {
+        try {
+            page.generateEmbeddableWizardPage(pageIndex, getMetrics());
+        } catch (LoadException ex) {
+            throw new IllegalStateException(
+                    String.format("Could not recreate wizard page with index %s", pageIndex), ex);
+        }
+        if (getVisitablePages().get(pageIndex) == page) {
+            retain(pageIndex, page);
+        }
+    }
+
+    /**
+     * Stops tracking retained pages which were removed or replaced.
+     */
+    private void dropStaleRetainedPages() {
+        retainedPages.entrySet()
+                .removeIf(retained -> getVisitablePages().get(retained.getKey()) != retained.getValue());
+    }
+
+    private void unloadExcessPages() {
+        int numExcessPages = retainedPages.size() - getMaxRetainedPages();
+        Iterator<Map.Entry<String, WizardPage<?, ?>>> retainedIterator = retainedPages.entrySet().iterator();
+        while (numExcessPages > 0 && retainedIterator.hasNext()) {
+            Map.Entry<String, WizardPage<?, ?>> retained = retainedIterator.next();
+            String pageIndex = retained.getKey();
+            WizardPage<?, ?> page = retained.getValue();
+            boolean unloadable = !pageIndex.equals(navigator.getCurrentKey())
+                    && !pendingPrefetches.containsKey(pageIndex);
+            if (unloadable && page.unload(() -> reload(pageIndex, page))) {
+                retainedIterator.remove();
+                numExcessPages--;
+            }
+        }
+    }
+
+    private static void cancelStage(@NotNull CompletionStage<?> stage) {
+        try {
+            stage.toCompletableFuture()
+                    .cancel(true);
+        } catch (UnsupportedOperationException ex) {
+            LOGGER.log(Level.FINE, "The result of an asynchronous next-function can not be cancelled", ex);
+        }
+    }
+
+    /**
+     * Discards the result of the currently evaluated asynchronous next-function (if any) and tries to cancel its
+     * evaluation.
+     */
+    private void cancelPendingNext() {
+        if (pendingNextInvocation != null) {
+            CompletableFuture<? extends CompletionStage<String>> invocation = pendingNextInvocation;
+            pendingNextInvocation = null;
+            busy.set(false);
+            if (!invocation.cancel(true)) {
+                invocation.thenAccept(WizardController::cancelStage);
+            }
+        }
+    }
+
+    private void showNextSync(@NotNull Supplier<String> nextFunction) {
+        String currentIndex = navigator.getCurrentKey();
+        NextFunctionEvent nextFunctionEvent = new NextFunctionEvent();
+        nextFunctionEvent.begin();
+        long evaluationStart = System.nanoTime();
+        String nextIndex = nextFunction.get();
+        getMetrics().recordNextFunction(currentIndex, System.nanoTime() - evaluationStart);
+        if (nextFunctionEvent.shouldCommit()) {
+            nextFunctionEvent.pageKey = currentIndex;
+            nextFunctionEvent.pageClass = navigator.getCurrentPage().getClass();
+            nextFunctionEvent.nextPageKey = nextIndex;
+            nextFunctionEvent.commit();
+        }
+        navigator.forward(Objects.requireNonNull(nextIndex, "The next-function must not return null"));
+    }
+
+    private void showNextAsync(@NotNull Supplier<? extends CompletionStage<String>> asyncNextFunction) {
+        String currentIndex = navigator.getCurrentKey();
+        Class<?> currentPageClass = navigator.getCurrentPage().getClass();
+        NextFunctionEvent nextFunctionEvent = new NextFunctionEvent();
+        nextFunctionEvent.begin();
+        long evaluationStart = System.nanoTime();
+        CompletableFuture<? extends CompletionStage<String>> invocation
+                = CompletableFuture.supplyAsync(asyncNextFunction, getNextFunctionExecutor());
+        pendingNextInvocation = invocation;
+        busy.set(true);
+        invocation.thenCompose(Function.identity())
+                .whenComplete((nextIndex, ex) -> Platform.runLater(() -> {
+                    if (pendingNextInvocation == invocation) {
+                        pendingNextInvocation = null;
+                        busy.set(false);
+                        getMetrics().recordNextFunction(currentIndex, System.nanoTime() - evaluationStart);
+                        if (nextFunctionEvent.shouldCommit()) {
+                            nextFunctionEvent.pageKey = currentIndex;
+                            nextFunctionEvent.pageClass = currentPageClass;
+                            nextFunctionEvent.nextPageKey = nextIndex;
+                            nextFunctionEvent.commit();
+                        }
+                        if (ex == null) {
+                            navigator.forward(
+                                    Objects.requireNonNull(nextIndex, "The next-function must not return null"));
+                        } else {
+                            LOGGER.log(Level.SEVERE, String.format(
+                                    "The asynchronous next-function of the page %s failed", currentIndex), ex);
+                        }
+                    }
+                }));
+    }
+
+    private void stopTimingPage() {
+        if (timedPageIndex != null) {
+            getMetrics().recordTimeOnPage(timedPageIndex, System.nanoTime() - timedPageShownSince);
+            timedPageIndex = null;
+        }
+    }
+
+    private void startTimingPage(@NotNull String pageIndex) {
+        stopTimingPage();
+        timedPageIndex = pageIndex;
+        timedPageShownSince = System.nanoTime();
+    }
+
     @FXML
     @SuppressWarnings("unused")
     private void initialize() {
+        navigator.addNavigationListener((previousIndex, currentIndex, direction) -> {
+            cancelPendingNext();
+            startTimingPage(currentIndex);
+            performPageChange(currentIndex, direction);
+        });
+        navigator.addStateListener(currentState -> {
+            if (currentState != WizardState.RUNNING) {
+                cancelPendingNext();
+                stopTimingPage();
+            }
+            WizardStateChangeEvent stateChangeEvent = new WizardStateChangeEvent();
+            if (stateChangeEvent.shouldCommit()) {
+                WizardPage<?, ?> page = navigator.getCurrentPage();
+                stateChangeEvent.pageKey = navigator.getCurrentKey();
+                stateChangeEvent.pageClass = page == null ? null : page.getClass();
+                stateChangeEvent.previousState = getState().name();
+                stateChangeEvent.state = currentState.name();
+                stateChangeEvent.commit();
+            }
+            state.set(currentState);
+        });
+        // NOTE Changes within the current map are forwarded by visitablePagesChange
         visitablePages.addListener((obs, previousVisitablePages, currentVisitablePages) -> {
-            currentIndex.addListener((obsI, previousIndex, currentIndex) -> performPageChange(currentIndex));
-
-            // Ensure init
-            swipeToLeft = null;
-            history.clear();
-            history.push(WizardPage.FIRST_PAGE_KEY);
-            performPageChange(WizardPage.FIRST_PAGE_KEY);
+            if (previousVisitablePages != currentVisitablePages) {
+                if (previousVisitablePages != null) {
+                    previousVisitablePages.removeListener(visitablePagesChange);
+                }
+                if (currentVisitablePages != null) {
+                    currentVisitablePages.addListener(visitablePagesChange);
+                    navigator.setPages(currentVisitablePages);
+                    dropStaleRetainedPages();
+                }
+            }
         });
 
         final ReadOnlyBooleanWrapper currentPageValid = new ReadOnlyBooleanWrapper();
         final BooleanProperty currentPageHasNextFunction = new SimpleBooleanProperty();
+        // NOTE The binding of currentPageValid recomputes the validity on every invalidation
+        final InvalidationListener countValidityRecomputation = obs -> {
+            String currentIndex = navigator.getCurrentKey();
+            if (currentIndex != null) {
+                getMetrics().recordValidityRecomputation(currentIndex);
+            }
+        };
         currentPage.addListener((obs, previousPage, currentPage) -> {
+            if (observedPageValidity != null) {
+                observedPageValidity.removeListener(countValidityRecomputation);
+                observedPageValidity = null;
+            }
             if (currentPage == null) {
                 currentPageValid.unbind();
                 currentPageValid.set(false);
                 currentPageHasNextFunction.unbind();
                 currentPageHasNextFunction.set(false);
             } else {
-                currentPageValid.bind(currentPage.validProperty());
-                currentPageHasNextFunction.bind(currentPage.nextFunctionProperty().isNotNull());
+                observedPageValidity = currentPage.validProperty();
+                currentPageValid.bind(observedPageValidity);
+                currentPageHasNextFunction.bind(currentPage.nextFunctionProperty().isNotNull()
+                        .or(currentPage.asyncNextFunctionProperty().isNotNull()));
+                observedPageValidity.addListener(countValidityRecomputation);
+                prefetchSuccessors();
+            }
+        });
+        prefetchEnabled.addListener((obs, wasEnabled, isEnabled) -> {
+            if (isEnabled) {
+                prefetchSuccessors();
             }
         });
+        maxRetainedPages.addListener((obs, previousMax, currentMax) -> unloadExcessPages());
 
-        previousDisallowed.bind(changingPage.or(atBeginningProperty()));
+        BooleanBinding notRunning = stateProperty().isNotEqualTo(WizardState.RUNNING);
+        previousDisallowed.bind(notRunning.or(atBeginningProperty()));
         nextDisallowed.bind(
-                changingPage.or(currentPageProperty().isNull())
+                notRunning.or(busyProperty())
+                        .or(currentPageProperty().isNull())
                         .or(currentPageValid.not())
                         .or(currentPageHasNextFunction.not()));
         finishDisallowed.bind(
-                changingPage.or(atFinishProperty().not())
+                notRunning.or(busyProperty())
+                        .or(atFinishProperty().not())
                         .or(currentPageProperty().isNull())
                         .or(currentPageValid.not()));
 
-        Dimension screenSize = Toolkit.getDefaultToolkit().getScreenSize();
-        scrollContent.setMaxHeight(screenSize.getHeight() * MAX_SIZE_FACTOR);
-        scrollContent.setMaxWidth(screenSize.getWidth() * MAX_SIZE_FACTOR);
-
-        // Initialize all bindings
-        currentIndex.set(WizardPage.FIRST_PAGE_KEY);
+        Rectangle2D screenBounds = Screen.getPrimary().getBounds();
+        scrollContent.setMaxHeight(screenBounds.getHeight() * MAX_SIZE_FACTOR);
+        scrollContent.setMaxWidth(screenBounds.getWidth() * MAX_SIZE_FACTOR);
     }
 
     @FXML
     @SuppressWarnings("unused")
     private void showPrevious() {
-        if (!isPreviousDisallowed()) {
-            initializePageChange(null);
+        cancelPendingNext();
+        if (!isPreviousDisallowed() && navigator.canGoPrevious()) {
+            navigator.previous();
         }
     }
 
     @FXML
     @SuppressWarnings("unused")
     private void showNext() {
-        if (!isNextDisallowed()) {
-            EmbeddedWizardPage<?> page = getCurrentPage();
-            Supplier<String> nextFunction = page.getNextFunction();
-            if (nextFunction != null && page.isValid()) {
-                String nextIndex = nextFunction.get();
-                initializePageChange(Objects.requireNonNull(nextIndex, "The next-function must not return null"));
+        if (!isNextDisallowed() && navigator.canGoNext()) {
+            Supplier<String> nextFunction = navigator.getCurrentPage().getNextFunction();
+            if (nextFunction == null) {
+                Supplier<? extends CompletionStage<String>> asyncNextFunction
+                        = navigator.getCurrentPage().getAsyncNextFunction();
+                assert asyncNextFunction != null : "canGoNext() ensures that there is a next-function";
+                showNextAsync(asyncNextFunction);
+            } else {
+                showNextSync(nextFunction);
             }
         }
     }
@@ -246,17 +524,16 @@ public final class WizardController {
     @FXML
     @SuppressWarnings("unused")
     private void finish() {
-        if (getState() == WizardState.RUNNING && !isFinishDisallowed()) {
-            state.set(WizardState.FINISHED);
+        if (!isFinishDisallowed() && navigator.canFinish()) {
+            navigator.finish();
         }
     }
 
     @FXML
     @SuppressWarnings("unused")
     private void cancel() {
-        if (getState() == WizardState.RUNNING) {
-            state.set(WizardState.ABORTED);
-        }
+        cancelPendingNext();
+        navigator.cancel();
     }
 
     /**
@@ -268,6 +545,9 @@ public final class WizardController {
     }
 
     /**
+     * Returns the map of visitable pages. Changes to the map are forwarded to this wizard. Removing the page with the
+     * key {@link WizardPage#FIRST_PAGE_KEY} is reverted immediately.
+     *
      * @since 1.52
      */
     @NotNull
@@ -276,8 +556,10 @@ public final class WizardController {
     }
 
     /**
-     * Sets a new map of visitable pages. NOTE: Calling this method causes the wizard to reset to the first page and
-     * clear the history.
+     * Sets a new map of visitable pages. Pages which are contained in the previous as well as in the new map keep
+     * their place in the history. The history is only discarded from the first page on that was removed or replaced.
+     * If the current page is affected the wizard shows the latest page of the remaining history. To avoid comparing
+     * both maps entirely prefer {@link #updateVisitablePages(Map, Collection)} for changing only some pages.
      *
      * @param visitablePages The map of pages to set.
      * @since 1.52
@@ -290,6 +572,42 @@ public final class WizardController {
         this.visitablePages.set(FXCollections.observableMap(visitablePages));
     }
 
+    /**
+     * Adds, replaces and removes the given pages in place. The costs depend only on the number of changed pages. The
+     * history is handled the same way as described in {@link #setVisitablePages(Map)}.
+     *
+     * @param putPages        The pages to add or to replace associated with their keys.
+     * @param removedPageKeys The keys of the pages to remove.
+     * @since 1.61
+     */
+    public void updateVisitablePages(@NotNull Map<String, WizardPage<?, ?>> putPages,
+                                     @NotNull Collection<String> removedPageKeys) {
+        Objects.requireNonNull(putPages);
+        Objects.requireNonNull(removedPageKeys);
+        if (getVisitablePages() == null) {
+            throw new IllegalStateException("There are no visitable pages to update yet");
+        }
+        if (removedPageKeys.contains(WizardPage.FIRST_PAGE_KEY) && !putPages.containsKey(WizardPage.FIRST_PAGE_KEY)) {
+            throw new IllegalArgumentException("The page with the key WizardPage.FIRST_PAGE_KEY can not be removed");
+        }
+        putPages.values()
+                .forEach(Objects::requireNonNull);
+
+        // Apply all changes to the navigator at once instead of change by change
+        ObservableMap<String, WizardPage<?, ?>> pages = visitablePages.get();
+        pages.removeListener(visitablePagesChange);
+        try {
+            removedPageKeys.stream()
+                    .filter(key -> !putPages.containsKey(key))
+                    .forEach(pages::remove);
+            pages.putAll(putPages);
+        } finally {
+            pages.addListener(visitablePagesChange);
+        }
+        navigator.updatePages(putPages, removedPageKeys);
+        dropStaleRetainedPages();
+    }
+
     /**
      * Adds the given page to the wizard and replaces pages with the same key but only if the page was not already
      * visited. This method can be used if a page of the wizard is depending on the result of a previous one. NOTE: The
@@ -302,15 +620,181 @@ public final class WizardController {
     public void putPage(@NotNull String key, @NotNull WizardPage<?, ?> page) {
         Objects.requireNonNull(key);
         Objects.requireNonNull(page);
-        if (history.contains(key)) {
+        if (navigator.getHistory().contains(key)) {
             throw new IllegalStateException("A page already visited can not be replaced");
         }
         visitablePages.put(key, page);
     }
 
+    /**
+     * The transition played whenever the current page changes. Requesting another page change while a transition is
+     * running finishes the running transition immediately.
+     *
+     * @see PageTransitions
+     * @since 1.61
+     */
+    @NotNull
+    public ObjectProperty<PageTransition> pageTransitionProperty() {
+        return pageTransition;
+    }
+
+    /**
+     * @since 1.61
+     */
+    @NotNull
+    public PageTransition getPageTransition() {
+        return pageTransitionProperty().get();
+    }
+
+    /**
+     * @since 1.61
+     */
+    public void setPageTransition(@NotNull PageTransition pageTransition) {
+        pageTransitionProperty().set(Objects.requireNonNull(pageTransition));
+    }
+
+    /**
+     * Whether pages which may follow the current page are generated in the background while the current page is
+     * shown. Only the pages declared by {@link WizardPage#getPrefetchCandidates()} are generated. Pages which do not
+     * declare any candidates are not prefetched since their next-functions are not evaluated speculatively. NOTE:
+     * Prefetched pages load their FXML on a background thread whereas their controllers are set and initialized on the
+     * JavaFX application thread.
+     *
+     * @since 1.61
+     */
+    @NotNull
+    public BooleanProperty prefetchEnabledProperty() {
+        return prefetchEnabled;
+    }
+
+    /**
+     * @since 1.61
+     */
+    public boolean isPrefetchEnabled() {
+        return prefetchEnabledProperty().get();
+    }
+
+    /**
+     * @since 1.61
+     */
+    public void setPrefetchEnabled(boolean prefetchEnabled) {
+        prefetchEnabledProperty().set(prefetchEnabled);
+    }
+
+    /**
+     * The {@link Executor} used for loading the FXML of prefetched pages.
+     *
+     * @since 1.61
+     */
+    @NotNull
+    public ObjectProperty<Executor> prefetchExecutorProperty() {
+        return prefetchExecutor;
+    }
+
+    /**
+     * @since 1.61
+     */
+    @NotNull
+    public Executor getPrefetchExecutor() {
+        return prefetchExecutorProperty().get();
+    }
+
+    /**
+     * @since 1.61
+     */
+    public void setPrefetchExecutor(@NotNull Executor prefetchExecutor) {
+        prefetchExecutorProperty().set(Objects.requireNonNull(prefetchExecutor));
+    }
+
+    /**
+     * The maximum number of pages whose nodes and controllers are kept in memory. If more pages are generated the
+     * least recently shown ones are unloaded and only a snapshot of their state is kept (see
+     * {@link WizardPageController#createSnapshot()}). Unloaded pages are recreated from their snapshot as soon as they
+     * are shown again. The current page and pages whose controllers do not support snapshots are never unloaded.
+     *
+     * @since 1.61
+     */
+    @NotNull
+    public IntegerProperty maxRetainedPagesProperty() {
+        return maxRetainedPages;
+    }
+
+    /**
+     * @since 1.61
+     */
+    public int getMaxRetainedPages() {
+        return maxRetainedPagesProperty().get();
+    }
+
+    /**
+     * @param maxRetainedPages The maximum number of pages to keep in memory. Use {@link Integer#MAX_VALUE} for
+     *                         retaining all pages.
+     * @since 1.61
+     */
+    public void setMaxRetainedPages(int maxRetainedPages) {
+        if (maxRetainedPages < 1) {
+            throw new IllegalArgumentException("At least the current page has to be retained");
+        }
+        maxRetainedPagesProperty().set(maxRetainedPages);
+    }
+
+    /**
+     * The {@link Executor} used for evaluating asynchronous next-functions (see
+     * {@link WizardPage#setFinishAndNextAsync(boolean, Supplier)}).
+     *
+     * @since 1.61
+     */
+    @NotNull
+    public ObjectProperty<Executor> nextFunctionExecutorProperty() {
+        return nextFunctionExecutor;
+    }
+
+    /**
+     * @since 1.61
+     */
+    @NotNull
+    public Executor getNextFunctionExecutor() {
+        return nextFunctionExecutorProperty().get();
+    }
+
+    /**
+     * @since 1.61
+     */
+    public void setNextFunctionExecutor(@NotNull Executor nextFunctionExecutor) {
+        nextFunctionExecutorProperty().set(Objects.requireNonNull(nextFunctionExecutor));
+    }
+
+    /**
+     * The {@link WizardMetrics} receiving the measurements of this wizard and its pages. By default all measurements
+     * are discarded.
+     *
+     * @see InMemoryWizardMetrics
+     * @since 1.61
+     */
+    @NotNull
+    public ObjectProperty<WizardMetrics> metricsProperty() {
+        return metrics;
+    }
+
+    /**
+     * @since 1.61
+     */
+    @NotNull
+    public WizardMetrics getMetrics() {
+        return metricsProperty().get();
+    }
+
+    /**
+     * @since 1.61
+     */
+    public void setMetrics(@NotNull WizardMetrics metrics) {
+        metricsProperty().set(Objects.requireNonNull(metrics));
+    }
+
     @NotNull
     public Optional<ArrayList<String>> getVisitedPages() {
-        return Optional.ofNullable(getState() == WizardState.FINISHED ? Collections.list(history.elements()) : null);
+        return Optional.ofNullable(
+                getState() == WizardState.FINISHED ? new ArrayList<>(navigator.getHistory()) : null);
     }
 
     @NotNull
@@ -381,4 +865,21 @@ public final class WizardController {
     public boolean isFinishDisallowed() {
         return finishDisallowedProperty().getValue();
     }
+
+    /**
+     * Whether an asynchronous next-function is currently evaluated.
+     *
+     * @since 1.61
+     */
+    @NotNull
+    public ReadOnlyBooleanProperty busyProperty() {
+        return busy.getReadOnlyProperty();
+    }
+
+    /**
+     * @since 1.61
+     */
+    public boolean isBusy() {
+        return busyProperty().get();
+    }
 }
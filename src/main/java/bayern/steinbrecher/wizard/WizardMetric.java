@@ -0,0 +1,35 @@
+package bayern.steinbrecher.wizard;
+
+/**
+ * The kinds of measurements a {@link WizardMetrics} receives.
+ *
+ * @author Stefan Huber
+ * @since 1.61
+ */
+public enum WizardMetric {
+    /**
+     * The time for loading the FXML description of a page including the creation of its nodes and its controller.
+     */
+    FXML_LOAD,
+    /**
+     * The time spent in {@link WizardPage#afterControllerInitialized()}.
+     */
+    CONTROLLER_INITIALIZATION,
+    /**
+     * The time for evaluating the next-function of a page.
+     */
+    NEXT_FUNCTION,
+    /**
+     * The time from starting the transition to a page until it finished or got interrupted.
+     */
+    TRANSITION,
+    /**
+     * The time a page was the current page of a running wizard.
+     */
+    TIME_ON_PAGE,
+    /**
+     * The number of times the validity of a page was recomputed while it was the current page. Measurements of this
+     * kind carry no duration.
+     */
+    VALIDITY_RECOMPUTATION
+}
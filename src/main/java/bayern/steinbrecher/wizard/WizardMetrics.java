@@ -0,0 +1,64 @@
+package bayern.steinbrecher.wizard;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Receives measurements of a {@link Wizard} and its pages. Durations are given in nanoseconds. Pages are identified by
+ * the key they are associated with in the {@link Wizard}. All methods do nothing by default. Since prefetched pages
+ * are loaded on background threads implementations have to be thread safe.
+ *
+ * @author Stefan Huber
+ * @see InMemoryWizardMetrics
+ * @since 1.61
+ */
+public interface WizardMetrics {
+    /**
+     * An instance which discards all measurements.
+     */
+    WizardMetrics NO_OP = new WizardMetrics() {
+    };
+
+    /**
+     * @see WizardMetric#FXML_LOAD
+     */
+    default void recordFxmlLoad(@NotNull String pageKey, long nanos) {
+        // No op
+    }
+
+    /**
+     * @see WizardMetric#CONTROLLER_INITIALIZATION
+     */
+    default void recordControllerInitialization(@NotNull String pageKey, long nanos) {
+        // No op
+    }
+
+    /**
+     * @see WizardMetric#NEXT_FUNCTION
+     */
+    default void recordNextFunction(@NotNull String pageKey, long nanos) {
+        // No op
+    }
+
+    /**
+     * @param pageKey The key of the page transitioned to.
+     * @see WizardMetric#TRANSITION
+     */
+    default void recordTransition(@NotNull String pageKey, long nanos) {
+        // No op
+    }
+
+    /**
+     * @see WizardMetric#TIME_ON_PAGE
+     */
+    default void recordTimeOnPage(@NotNull String pageKey, long nanos) {
+        // No op
+    }
+
+    /**
+     * @see WizardMetric#VALIDITY_RECOMPUTATION
+     */
+    default void recordValidityRecomputation(@NotNull String pageKey) {
+        // No op
+    }
+}
+
@@ -0,0 +1,127 @@
+package bayern.steinbrecher.wizard;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * An immutable copy of the measurements collected by an {@link InMemoryWizardMetrics}.
+ *
+ * @author Stefan Huber
+ * @since 1.61
+ */
+public final class WizardMetricsSnapshot {
+
+    private final Map<String, Map<WizardMetric, Histogram>> histograms;
+
+    WizardMetricsSnapshot(@NotNull Map<String, Map<WizardMetric, Histogram>> histograms) {
+        Map<String, Map<WizardMetric, Histogram>> copy = new HashMap<>();
+        histograms.forEach((pageKey, pageHistograms)
+                -> copy.put(pageKey, Collections.unmodifiableMap(new EnumMap<>(pageHistograms))));
+        this.histograms = Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * @return The keys of all pages having at least one measurement.
+     */
+    @NotNull
+    public Set<String> getPageKeys() {
+        return histograms.keySet();
+    }
+
+    /**
+     * @return The measurements of the given kind of the given page or {@link Optional#empty()} if there are none.
+     */
+    @NotNull
+    public Optional<Histogram> getHistogram(@NotNull String pageKey, @NotNull WizardMetric metric) {
+        return Optional.ofNullable(histograms.getOrDefault(pageKey, Map.of())
+                .get(metric));
+    }
+
+    /**
+     * @return All measurements grouped by page key and {@link WizardMetric}.
+     */
+    @NotNull
+    public Map<String, Map<WizardMetric, Histogram>> getHistograms() {
+        return histograms;
+    }
+
+    /**
+     * Summarizes the measurements of a single kind of a single page. Bucket {@code 0} counts measurements of
+     * {@code 0}ns and bucket {@code i > 0} counts measurements in the range [2^(i-1), 2^i) ns.
+     *
+     * @since 1.61
+     */
+    public static final class Histogram {
+        static final int NUM_BUCKETS = Long.SIZE;
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final long[] bucketCounts;
+
+        Histogram(long count, long totalNanos, long maxNanos, long @NotNull [] bucketCounts) {
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.bucketCounts = bucketCounts.clone();
+        }
+
+        static int bucketOf(long nanos) {
+            return Long.SIZE - Long.numberOfLeadingZeros(nanos);
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public double getMeanNanos() {
+            return count == 0 ? 0 : (double) totalNanos / count;
+        }
+
+        /**
+         * Estimates the given percentile by the upper bound of the bucket containing it. The estimate is at most twice
+         * the actual value and never exceeds {@link #getMaxNanos()}.
+         *
+         * @param percentile A value within [0, 100].
+         */
+        public long getPercentileNanos(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("The percentile has to be within [0, 100]");
+            }
+            long total = 0;
+            for (long bucketCount : bucketCounts) {
+                total += bucketCount;
+            }
+            long rank = (long) Math.ceil(total * percentile / 100);
+            long seen = 0;
+            for (int bucket = 0; bucket < bucketCounts.length; bucket++) {
+                seen += bucketCounts[bucket];
+                if (seen >= rank && seen > 0) {
+                    long upperBound = bucket == 0 ? 0 : (1L << bucket) - 1;
+                    return Math.min(upperBound, maxNanos);
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * @return A copy of the number of measurements per bucket.
+         */
+        public long @NotNull [] getBucketCounts() {
+            return bucketCounts.clone();
+        }
+    }
+}
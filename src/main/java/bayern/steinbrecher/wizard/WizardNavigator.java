@@ -0,0 +1,345 @@
+package bayern.steinbrecher.wizard;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Represents the navigation state of a wizard, i.e. its pages, its history of visited pages and its
+ * {@link WizardState}, independent of any UI toolkit. The navigator starts at the page associated with
+ * {@link WizardPage#FIRST_PAGE_KEY} as soon as such a page is available. A {@link WizardController} is a view on top of
+ * a navigator. Since a navigator needs neither JavaFX nor any page content it is also suitable for evaluating the
+ * page graph of a wizard in tests or batch jobs. Instances are not thread safe.
+ *
+ * @param <P> The type of the pages to navigate.
+ * @author Stefan Huber
+ * @since 1.61
+ */
+public final class WizardNavigator<P extends WizardPageDescriptor> {
+
+    private final Map<String, P> pages = new HashMap<>();
+    private final List<String> history = new ArrayList<>();
+    private final List<String> unmodifiableHistory = Collections.unmodifiableList(history);
+    private WizardState state = WizardState.RUNNING;
+    private final List<NavigationListener> navigationListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<WizardState>> stateListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a navigator without any pages. It starts as soon as a page associated with
+     * {@link WizardPage#FIRST_PAGE_KEY} is added.
+     */
+    public WizardNavigator() {
+        super();
+    }
+
+    /**
+     * Creates a navigator which starts at the page associated with {@link WizardPage#FIRST_PAGE_KEY}.
+     *
+     * @param pages The pages to navigate associated with their keys.
+     */
+    public WizardNavigator(@NotNull Map<String, ? extends P> pages) {
+        this();
+        setPages(pages);
+    }
+
+    private void fireCurrentPageChanged(@Nullable String previousKey, @NotNull NavigationDirection direction) {
+        String currentKey = getCurrentKey();
+        for (NavigationListener listener : navigationListeners) {
+            listener.currentPageChanged(previousKey, currentKey, direction);
+        }
+    }
+
+    private void changeState(@NotNull WizardState state) {
+        this.state = state;
+        for (Consumer<WizardState> listener : stateListeners) {
+            listener.accept(state);
+        }
+    }
+
+    private void requireRunning() {
+        if (state != WizardState.RUNNING) {
+            throw new IllegalStateException("The wizard is not running anymore");
+        }
+    }
+
+    /**
+     * Replaces all pages. Pages which are associated with the same key in the previous as well as in the new pages
+     * keep their place in the history. See {@link #updatePages(Map, Collection)} for how changed pages affect the
+     * history.
+     *
+     * @param pages The new pages associated with their keys.
+     */
+    public void setPages(@NotNull Map<String, ? extends P> pages) {
+        if (!pages.containsKey(WizardPage.FIRST_PAGE_KEY)) {
+            throw new IllegalArgumentException("Map of pages must have a key WizardPage.FIRST_PAGE_KEY");
+        }
+
+        int firstInvalidPosition = history.size();
+        for (int position = 0; position < history.size(); position++) {
+            String key = history.get(position);
+            if (this.pages.get(key) != pages.get(key)) {
+                firstInvalidPosition = position;
+                break;
+            }
+        }
+        this.pages.clear();
+        this.pages.putAll(pages);
+        truncateHistory(firstInvalidPosition);
+    }
+
+    /**
+     * Adds, replaces and removes the given pages. The costs depend only on the number of changed pages and the length
+     * of the history. The history is discarded from the first page on that was removed or replaced. If the current
+     * page is affected the navigator goes back to the latest page of the remaining history.
+     *
+     * @param putPages        The pages to add or to replace associated with their keys.
+     * @param removedPageKeys The keys of the pages to remove.
+     */
+    public void updatePages(@NotNull Map<String, ? extends P> putPages, @NotNull Collection<String> removedPageKeys) {
+        if (removedPageKeys.contains(WizardPage.FIRST_PAGE_KEY) && !putPages.containsKey(WizardPage.FIRST_PAGE_KEY)) {
+            throw new IllegalArgumentException("The page with the key WizardPage.FIRST_PAGE_KEY can not be removed");
+        }
+
+        int firstInvalidPosition = history.size();
+        for (String key : removedPageKeys) {
+            if (!putPages.containsKey(key) && pages.remove(key) != null) {
+                firstInvalidPosition = Math.min(firstInvalidPosition, positionInHistory(key));
+            }
+        }
+        for (Map.Entry<String, ? extends P> putPage : putPages.entrySet()) {
+            P previousPage = pages.put(putPage.getKey(), Objects.requireNonNull(putPage.getValue()));
+            if (previousPage != null && previousPage != putPage.getValue()) {
+                firstInvalidPosition = Math.min(firstInvalidPosition, positionInHistory(putPage.getKey()));
+            }
+        }
+        truncateHistory(firstInvalidPosition);
+    }
+
+    /**
+     * @return The position of the key in the history or the size of the history if it was not visited.
+     */
+    private int positionInHistory(@NotNull String key) {
+        int position = history.indexOf(key);
+        return position < 0 ? history.size() : position;
+    }
+
+    private void truncateHistory(int newSize) {
+        if (history.isEmpty()) {
+            if (pages.containsKey(WizardPage.FIRST_PAGE_KEY)) {
+                history.add(WizardPage.FIRST_PAGE_KEY);
+                fireCurrentPageChanged(null, NavigationDirection.NONE);
+            }
+        } else if (newSize < history.size()) {
+            String previousKey = getCurrentKey();
+            history.subList(newSize, history.size())
+                    .clear();
+            if (history.isEmpty()) {
+                history.add(WizardPage.FIRST_PAGE_KEY);
+                fireCurrentPageChanged(previousKey, NavigationDirection.NONE);
+            } else {
+                fireCurrentPageChanged(previousKey, NavigationDirection.BACKWARD);
+            }
+        }
+    }
+
+    /**
+     * Evaluates the next-function of the current page and goes to the resulting page. Asynchronous next-functions are
+     * not evaluated by the navigator. Instead their result has to be passed to {@link #forward(String)}.
+     *
+     * @return The key of the new current page.
+     * @throws IllegalStateException If the current page does not allow to go to a next page or has only an
+     *                               asynchronous next-function.
+     * @throws PageNotFoundException If the next-function returned the key of an unknown page.
+     * @see #canGoNext()
+     */
+    @NotNull
+    public String next() {
+        if (!canGoNext()) {
+            throw new IllegalStateException("The current page does not allow to go to a next page");
+        }
+        Supplier<String> nextFunction = getCurrentPage().getNextFunction();
+        if (nextFunction == null) {
+            throw new IllegalStateException("The current page has only an asynchronous next-function");
+        }
+        String nextKey = Objects.requireNonNull(nextFunction.get(), "The next-function must not return null");
+        forward(nextKey);
+        return nextKey;
+    }
+
+    /**
+     * Goes to the page with the given key as if the next-function of the current page returned it.
+     *
+     * @param nextKey The key of the page to go to.
+     * @throws PageNotFoundException If there is no page with the given key.
+     */
+    public void forward(@NotNull String nextKey) {
+        requireRunning();
+        if (!pages.containsKey(nextKey)) {
+            throw new PageNotFoundException(String.format("Wizard contains no page with key \"%s\".", nextKey));
+        }
+        String previousKey = getCurrentKey();
+        history.add(nextKey);
+        fireCurrentPageChanged(previousKey, NavigationDirection.FORWARD);
+    }
+
+    /**
+     * Goes back to the previously visited page.
+     *
+     * @return The key of the new current page.
+     * @throws IllegalStateException If the navigator is at the beginning.
+     */
+    @NotNull
+    public String previous() {
+        if (!canGoPrevious()) {
+            throw new IllegalStateException("There is no previous page");
+        }
+        String previousKey = history.remove(history.size() - 1);
+        fireCurrentPageChanged(previousKey, NavigationDirection.BACKWARD);
+        return getCurrentKey();
+    }
+
+    /**
+     * Finishes the wizard if the current page allows it.
+     *
+     * @throws IllegalStateException If the current page does not allow to finish.
+     * @see #canFinish()
+     */
+    public void finish() {
+        if (!canFinish()) {
+            throw new IllegalStateException("The wizard can not finish at the current page");
+        }
+        changeState(WizardState.FINISHED);
+    }
+
+    /**
+     * Aborts the wizard if it is still running.
+     */
+    public void cancel() {
+        if (state == WizardState.RUNNING) {
+            changeState(WizardState.ABORTED);
+        }
+    }
+
+    /**
+     * Returns to the first page, clears the history and sets the state to {@link WizardState#RUNNING} again.
+     */
+    public void reset() {
+        String previousKey = getCurrentKey();
+        history.clear();
+        if (state != WizardState.RUNNING) {
+            changeState(WizardState.RUNNING);
+        }
+        if (pages.containsKey(WizardPage.FIRST_PAGE_KEY)) {
+            history.add(WizardPage.FIRST_PAGE_KEY);
+            fireCurrentPageChanged(previousKey, NavigationDirection.NONE);
+        }
+    }
+
+    public boolean canGoPrevious() {
+        return state == WizardState.RUNNING && !isAtBeginning();
+    }
+
+    public boolean canGoNext() {
+        P currentPage = getCurrentPage();
+        return state == WizardState.RUNNING
+                && currentPage != null
+                && currentPage.hasNext()
+                && currentPage.isValid();
+    }
+
+    public boolean canFinish() {
+        P currentPage = getCurrentPage();
+        return state == WizardState.RUNNING
+                && currentPage != null
+                && currentPage.isFinish()
+                && currentPage.isValid();
+    }
+
+    /**
+     * @return {@code true} only if there is no previous page.
+     */
+    public boolean isAtBeginning() {
+        return history.size() < 2;
+    }
+
+    /**
+     * @return {@code true} only if the current page is a last one.
+     */
+    public boolean isAtFinish() {
+        P currentPage = getCurrentPage();
+        return currentPage != null && currentPage.isFinish();
+    }
+
+    /**
+     * @return The key of the current page or {@code null} if there is no page associated with
+     * {@link WizardPage#FIRST_PAGE_KEY} yet.
+     */
+    @Nullable
+    public String getCurrentKey() {
+        return history.isEmpty() ? null : history.get(history.size() - 1);
+    }
+
+    @Nullable
+    public P getCurrentPage() {
+        String currentKey = getCurrentKey();
+        return currentKey == null ? null : pages.get(currentKey);
+    }
+
+    @Nullable
+    public P getPage(@NotNull String key) {
+        return pages.get(key);
+    }
+
+    /**
+     * @return An unmodifiable view on the keys of the visited pages. The last entry is the key of the current page.
+     */
+    @NotNull
+    public List<String> getHistory() {
+        return unmodifiableHistory;
+    }
+
+    @NotNull
+    public WizardState getState() {
+        return state;
+    }
+
+    public void addNavigationListener(@NotNull NavigationListener listener) {
+        navigationListeners.add(Objects.requireNonNull(listener));
+    }
+
+    public void removeNavigationListener(@NotNull NavigationListener listener) {
+        navigationListeners.remove(listener);
+    }
+
+    public void addStateListener(@NotNull Consumer<WizardState> listener) {
+        stateListeners.add(Objects.requireNonNull(listener));
+    }
+
+    public void removeStateListener(@NotNull Consumer<WizardState> listener) {
+        stateListeners.remove(listener);
+    }
+
+    /**
+     * Listens to changes of the current page of a {@link WizardNavigator}.
+     */
+    @FunctionalInterface
+    public interface NavigationListener {
+        /**
+         * @param previousKey The key of the page which was current until now or {@code null} if there was none.
+         * @param currentKey  The key of the new current page.
+         * @param direction   How the change relates to the history.
+         */
+        void currentPageChanged(
+                @Nullable String previousKey, @NotNull String currentKey, @NotNull NavigationDirection direction);
+    }
+}
@@ -1,5 +1,6 @@
 package bayern.steinbrecher.wizard;
 
+import javafx.application.Platform;
 import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.ReadOnlyBooleanWrapper;
 import javafx.beans.property.ReadOnlyObjectProperty;
@@ -13,14 +14,18 @@ import org.jetbrains.annotations.Nullable;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URL;
-import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Queue;
 import java.util.ResourceBundle;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -47,7 +52,8 @@ import java.util.logging.Logger;
  * @author Stefan Huber
  * @since 1.2
  */
-public abstract class WizardPage<T extends Optional<?>, C extends WizardPageController<T>> {
+public abstract class WizardPage<T extends Optional<?>, C extends WizardPageController<T>>
+        implements WizardPageDescriptor {
 
     /**
      * The key of the page to be used as first one.
@@ -57,10 +63,47 @@ public abstract class WizardPage<T extends Optional<?>, C extends WizardPageCont
     private final String fxmlPath;
     private final ResourceBundle bundle;
     private final ReadOnlyObjectWrapper<Supplier<String>> nextFunction = new ReadOnlyObjectWrapper<>();
+    private final ReadOnlyObjectWrapper<Supplier<? extends CompletionStage<String>>> asyncNextFunction
+            = new ReadOnlyObjectWrapper<>();
     private final ReadOnlyBooleanWrapper finish = new ReadOnlyBooleanWrapper();
     private final ReadOnlyObjectWrapper<C> controller = new ReadOnlyObjectWrapper<>();
-    private final Queue<Consumer<C>> deferredControllerActions = new ArrayDeque<>();
+    /**
+     * All actions passed to {@link #applyToController(Consumer)}. They are kept for replaying them on the controller
+     * which is created when this page is recreated after being unloaded.
+     */
+    private final List<Consumer<C>> controllerActions = new ArrayList<>();
+    /**
+     * The number of actions in {@link #controllerActions} which were applied to the current controller.
+     */
+    private int numAppliedActions;
+    /**
+     * The number of actions in {@link #controllerActions} which were applied before
+     * {@link #afterControllerInitialized()} was called.
+     */
+    private int numActionsBeforeInitialization;
+    /**
+     * The number of actions in {@link #controllerActions} which were applied when this page was unloaded.
+     */
+    private int numActionsBeforeSnapshot;
+    private Set<String> prefetchCandidates = Set.of();
     private EmbeddedWizardPage<T> generatedEmbeddablePage;
+    /**
+     * The FXML of this page which is currently loaded in the background (see
+     * {@link #generateEmbeddableWizardPageAsync(Executor, String, WizardMetrics)}).
+     */
+    private CompletableFuture<FXMLLoader> parsingFXML;
+    /**
+     * The state of the controller of this page in case this page was unloaded.
+     */
+    private Object snapshot;
+    /**
+     * The result of the controller of this page at the time this page was unloaded.
+     */
+    private T snapshotResult;
+    /**
+     * Recreates this page in case it was unloaded (see {@link #unload(Runnable)}).
+     */
+    private Runnable reload;
 
     /**
      * @since 1.13
@@ -68,18 +111,31 @@ public abstract class WizardPage<T extends Optional<?>, C extends WizardPageCont
     protected WizardPage(@NotNull String fxmlPath, @Nullable ResourceBundle bundle) {
         this.fxmlPath = Objects.requireNonNull(fxmlPath);
         this.bundle = bundle;
-
-        controllerProperty().addListener((obs, previousController, currentController) -> {
-            if (currentController != null) {
-                while (!deferredControllerActions.isEmpty()) {
-                    deferredControllerActions.poll()
-                            .accept(currentController);
-                }
-            }
-        });
     }
 
     Parent loadFXML() throws LoadException {
+        return loadFXML(getClass().getName(), WizardMetrics.NO_OP);
+    }
+
+    /**
+     * @param pageKey The key this page is associated with. It is only used for reporting measurements to
+     *                {@code metrics}.
+     */
+    Parent loadFXML(@NotNull String pageKey, @NotNull WizardMetrics metrics) throws LoadException {
+        return initializeController(parseFXML(pageKey, metrics), pageKey, metrics);
+    }
+
+    /**
+     * Loads the FXML of this page without setting the resulting controller. Since this method does not touch any state
+     * of this page it may be called on any thread.
+     *
+     * @param pageKey The key this page is associated with. It is only used for reporting measurements to
+     *                {@code metrics}.
+     * @return The {@link FXMLLoader} which loaded the FXML.
+     * @since 1.61
+     */
+    @NotNull
+    private FXMLLoader parseFXML(@NotNull String pageKey, @NotNull WizardMetrics metrics) throws LoadException {
         URL resource = getClass().getResource(fxmlPath);
         if (resource == null) {
             throw new LoadException(
@@ -89,15 +145,66 @@ public abstract class WizardPage<T extends Optional<?>, C extends WizardPageCont
             );
         } else {
             FXMLLoader fxmlLoader = new FXMLLoader(resource, bundle);
-            Parent root;
+            FxmlLoadEvent loadEvent = new FxmlLoadEvent();
+            loadEvent.begin();
+            long loadStart = System.nanoTime();
             try {
-                root = fxmlLoader.load();
+                fxmlLoader.load();
             } catch (IOException ex) {
                 throw new LoadException(ex);
             }
-            controller.set(fxmlLoader.getController());
-            afterControllerInitialized();
-            return root;
+            metrics.recordFxmlLoad(pageKey, System.nanoTime() - loadStart);
+            if (loadEvent.shouldCommit()) {
+                loadEvent.pageKey = pageKey;
+                loadEvent.pageClass = getClass();
+                loadEvent.resource = fxmlPath;
+                loadEvent.commit();
+            }
+            return fxmlLoader;
+        }
+    }
+
+    /**
+     * Sets the controller created by {@code fxmlLoader} and initializes it. In case this page was unloaded the actions
+     * passed to {@link #applyToController(Consumer)} are replayed in their original order relative to
+     * {@link #afterControllerInitialized()} and the restoration of the snapshot. This method has to be called on the
+     * JavaFX application thread.
+     *
+     * @return The root of the FXML loaded by {@code fxmlLoader}.
+     */
+    @NotNull
+    private Parent initializeController(
+            @NotNull FXMLLoader fxmlLoader, @NotNull String pageKey, @NotNull WizardMetrics metrics) {
+        numAppliedActions = 0;
+        controller.set(fxmlLoader.getController());
+        if (snapshot == null) {
+            numActionsBeforeInitialization = controllerActions.size();
+        }
+        applyControllerActions(numActionsBeforeInitialization);
+        long initializationStart = System.nanoTime();
+        afterControllerInitialized();
+        metrics.recordControllerInitialization(pageKey, System.nanoTime() - initializationStart);
+        if (snapshot != null) {
+            applyControllerActions(numActionsBeforeSnapshot);
+            getController()
+                    .restoreSnapshot(snapshot);
+            snapshot = null;
+            snapshotResult = null;
+            reload = null;
+        }
+        applyControllerActions(controllerActions.size());
+        return fxmlLoader.getRoot();
+    }
+
+    /**
+     * Applies the actions in {@link #controllerActions} which were not applied to the current controller yet up to the
+     * given exclusive index.
+     */
+    private void applyControllerActions(int endIndex) {
+        while (numAppliedActions < endIndex) {
+            controllerActions.get(numAppliedActions)
+                    .accept(getController());
+            numAppliedActions++;
         }
     }
 
@@ -105,6 +212,8 @@ public abstract class WizardPage<T extends Optional<?>, C extends WizardPageCont
      * This method is executed after the FXML is loaded and right after the corresponding controller is set. This
      * function represents an equivalent to a FXML controllers {@code initialize()} method. The FXML itself is loaded
      * when and only if this page gets embedded into a {@link Wizard} (see {@link #generateEmbeddableWizardPage()}.
+     * NOTE: If the {@link Wizard} prefetches pages only the FXML including the {@code initialize()} method of its
+     * controller is loaded on a background thread. This method is always called on the JavaFX application thread.
      *
      * @since 1.8
      */
@@ -120,19 +229,146 @@ public abstract class WizardPage<T extends Optional<?>, C extends WizardPageCont
      */
     @NotNull
     final EmbeddedWizardPage<T> generateEmbeddableWizardPage() throws LoadException {
+        return generateEmbeddableWizardPage(getClass().getName(), WizardMetrics.NO_OP);
+    }
+
+    /**
+     * Same as {@link #generateEmbeddableWizardPage()} but reports the time for loading the page to {@code metrics}.
+     *
+     * @param pageKey The key this page is associated with.
+     * @since 1.61
+     */
+    @NotNull
+    final synchronized EmbeddedWizardPage<T> generateEmbeddableWizardPage(
+            @NotNull String pageKey, @NotNull WizardMetrics metrics) throws LoadException {
         /* NOTE 2021-03-05: Do not re-generate the embeddable wizard page since each generation results in loading and
          * parsing the corresponding FXML again as well as the instantiation of another controller instance. As a result
          * it would seem like the page content was reset and changes to wizard page data were ignored (since they may be
          * directed to the previous controller instead of the new one).
          */
         if (generatedEmbeddablePage == null) {
-            generatedEmbeddablePage = new EmbeddedWizardPage<>(this);
+            PageGenerationEvent generationEvent = new PageGenerationEvent();
+            generationEvent.begin();
+            boolean restored = snapshot != null;
+            FXMLLoader fxmlLoader;
+            if (parsingFXML == null) {
+                fxmlLoader = parseFXML(pageKey, metrics);
+            } else {
+                try {
+                    fxmlLoader = parsingFXML.join();
+                } catch (CompletionException ex) {
+                    if (ex.getCause() instanceof LoadException) {
+                        throw (LoadException) ex.getCause();
+                    }
+                    throw new LoadException(ex.getCause());
+                } finally {
+                    parsingFXML = null;
+                }
+            }
+            generatedEmbeddablePage
+                    = new EmbeddedWizardPage<>(this, initializeController(fxmlLoader, pageKey, metrics));
+            if (generationEvent.shouldCommit()) {
+                generationEvent.pageKey = pageKey;
+                generationEvent.pageClass = getClass();
+                generationEvent.restored = restored;
+                generationEvent.commit();
+            }
         }
         return generatedEmbeddablePage;
     }
 
-    public T getResult() {
+    /**
+     * Generates the {@link EmbeddedWizardPage} of this page asynchronously. Only the FXML is loaded using the given
+     * {@link Executor}. The controller is set and initialized afterwards on the JavaFX application thread. Requesting
+     * the page via {@link #generateEmbeddableWizardPage()} while the FXML is still loaded waits for it instead of
+     * loading the FXML a second time. This method has to be called on the JavaFX application thread.
+     *
+     * @since 1.61
+     */
+    @NotNull
+    final synchronized CompletableFuture<EmbeddedWizardPage<T>> generateEmbeddableWizardPageAsync(
+            @NotNull Executor executor, @NotNull String pageKey, @NotNull WizardMetrics metrics) {
+        Objects.requireNonNull(executor);
+        if (generatedEmbeddablePage != null) {
+            return CompletableFuture.completedFuture(generatedEmbeddablePage);
+        }
+        if (parsingFXML == null) {
+            parsingFXML = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return parseFXML(pageKey, metrics);
+                } catch (LoadException ex) {
+                    throw new CompletionException(ex);
+                }
+            }, executor);
+        }
+        // NOTE Failures are also handed to generateEmbeddableWizardPage(...) which rethrows them and resets parsingFXML
+        return parsingFXML.handleAsync((fxmlLoader, ex) -> {
+            try {
+                return generateEmbeddableWizardPage(pageKey, metrics);
+            } catch (LoadException loadException) {
+                throw new CompletionException(loadException);
+            }
+        }, Platform::runLater);
+    }
+
+    /**
+     * @return {@code true} only if the {@link EmbeddedWizardPage} of this page was already generated.
+     * @since 1.61
+     */
+    final synchronized boolean isGenerated() {
+        return generatedEmbeddablePage != null;
+    }
+
+    /**
+     * Releases the generated {@link EmbeddedWizardPage} and its controller but keeps a snapshot of the state of the
+     * controller as well as its current result. The next call of {@link #generateEmbeddableWizardPage()} recreates the
+     * page from the snapshot.
+     *
+     * @param reload Recreates this page in case its result is requested after actions were passed to
+     *               {@link #applyToController(Consumer)} while this page is unloaded.
+     * @return {@code true} only if the page was unloaded. Pages that were not generated yet or whose controller does
+     * not support snapshots are not unloaded.
+     * @see WizardPageController#createSnapshot()
+     * @since 1.61
+     */
+    final synchronized boolean unload(@NotNull Runnable reload) {
+        Objects.requireNonNull(reload);
+        if (generatedEmbeddablePage != null) {
+            Optional<?> controllerSnapshot = getController()
+                    .createSnapshot();
+            if (controllerSnapshot.isPresent()) {
+                snapshot = controllerSnapshot.get();
+                snapshotResult = getController()
+                        .getResult();
+                numActionsBeforeSnapshot = numAppliedActions;
+                this.reload = reload;
+                generatedEmbeddablePage = null;
+                controller.set(null);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the result of the controller of this page. If this page is unloaded the result it had when unloading it
+     * is returned. Only if actions were passed to {@link #applyToController(Consumer)} in the meantime the page is
+     * recreated in which case this method has to be called on the JavaFX application thread.
+     *
+     * @see WizardPageController#getResult()
+     */
+    public synchronized T getResult() {
+        if (getController() == null && snapshot != null && numActionsBeforeSnapshot < controllerActions.size()) {
+            if (!Platform.isFxApplicationThread()) {
+                throw new IllegalStateException(
+                        "The result of an unloaded page which changed since has to be requested on the FX thread");
+            }
+            reload.run();
+        }
         if (getController() == null) {
+            if (snapshot != null) {
+                return snapshotResult;
+            }
             throw new IllegalStateException(
                     "The controller is not available yet. Was the page embedded and at least shown once?");
         }
@@ -151,6 +387,7 @@ public abstract class WizardPage<T extends Optional<?>, C extends WizardPageCont
      * @return The function calculating the key of the next page. Returns {@code null} if this page has no next one.
      */
     @Nullable
+    @Override
     public Supplier<String> getNextFunction() {
         return nextFunctionProperty().getValue();
     }
@@ -159,6 +396,7 @@ public abstract class WizardPage<T extends Optional<?>, C extends WizardPageCont
         return finish.getReadOnlyProperty();
     }
 
+    @Override
     public boolean isFinish() {
         return finishProperty().get();
     }
@@ -176,6 +414,50 @@ public abstract class WizardPage<T extends Optional<?>, C extends WizardPageCont
         }
         this.finish.set(finish);
         this.nextFunction.setValue(nextFunction);
+        this.asyncNextFunction.setValue(null);
+    }
+
+    /**
+     * Same as {@link #setFinishAndNext(boolean, Supplier)} but the key of the next page is calculated asynchronously.
+     * The {@link Wizard} calls {@code asyncNextFunction} on its next-function executor (see
+     * {@link WizardController#nextFunctionExecutorProperty()}) and is busy until the returned {@link CompletionStage}
+     * completes. Going to the previous page or cancelling the wizard in the meantime discards the result and tries to
+     * cancel the returned {@link CompletionStage}.
+     *
+     * @param finish            {@code true} only if this page is a last one.
+     * @param asyncNextFunction The function calculating the name of the next page asynchronously. In case
+     *                          {@code finish} is {@code true} this value is allowed to be {@code null}.
+     * @since 1.61
+     */
+    public void setFinishAndNextAsync(
+            boolean finish, @Nullable Supplier<? extends CompletionStage<String>> asyncNextFunction) {
+        if (!finish) {
+            Objects.requireNonNull(asyncNextFunction,
+                    "A non-last page must define a function which calculates the next page.");
+        }
+        this.finish.set(finish);
+        this.nextFunction.setValue(null);
+        this.asyncNextFunction.setValue(asyncNextFunction);
+    }
+
+    /**
+     * @since 1.61
+     */
+    @NotNull
+    public ReadOnlyObjectProperty<Supplier<? extends CompletionStage<String>>> asyncNextFunctionProperty() {
+        return asyncNextFunction.getReadOnlyProperty();
+    }
+
+    /**
+     * @return The function calculating the key of the next page asynchronously. Returns {@code null} if this page has
+     * no asynchronous next-function.
+     * @see #setFinishAndNextAsync(boolean, Supplier)
+     * @since 1.61
+     */
+    @Nullable
+    @Override
+    public Supplier<? extends CompletionStage<String>> getAsyncNextFunction() {
+        return asyncNextFunctionProperty().getValue();
     }
 
     /**
@@ -225,6 +507,27 @@ public abstract class WizardPage<T extends Optional<?>, C extends WizardPageCont
         return wizardPageCreation;
     }
 
+    /**
+     * Returns the keys of the pages which may follow this page. If a {@link Wizard} prefetches pages it loads the
+     * pages associated with these keys in the background while this page is shown. If there are no candidates no page
+     * is prefetched. The next-function of this page is never evaluated for prefetching.
+     *
+     * @since 1.61
+     */
+    @NotNull
+    public Set<String> getPrefetchCandidates() {
+        return prefetchCandidates;
+    }
+
+    /**
+     * @param prefetchCandidates The keys of the pages which may follow this page.
+     * @see #getPrefetchCandidates()
+     * @since 1.61
+     */
+    public void setPrefetchCandidates(@NotNull Set<String> prefetchCandidates) {
+        this.prefetchCandidates = Set.copyOf(prefetchCandidates);
+    }
+
     public ReadOnlyBooleanProperty validProperty() {
         if (getController() == null) {
             throw new IllegalStateException(
@@ -234,6 +537,7 @@ public abstract class WizardPage<T extends Optional<?>, C extends WizardPageCont
                 .validProperty();
     }
 
+    @Override
     public boolean isValid() {
         return validProperty()
                 .get();
@@ -256,15 +560,16 @@ public abstract class WizardPage<T extends Optional<?>, C extends WizardPageCont
 
     /**
      * If {@link #getController()} returns {@code null} store the action and apply it as soon as the controller is
-     * available otherwise apply the action immediately.
+     * available otherwise apply the action immediately. The action is kept and applied again to the controller which
+     * is created when this page is recreated after being unloaded. Hence actions should only depend on their
+     * arguments.
      *
      * @since 1.61
      */
-    protected void applyToController(Consumer<C> action) {
-        if (getController() == null) {
-            deferredControllerActions.add(action);
-        } else {
-            action.accept(getController());
+    protected synchronized void applyToController(@NotNull Consumer<C> action) {
+        controllerActions.add(Objects.requireNonNull(action));
+        if (getController() != null) {
+            applyControllerActions(controllerActions.size());
         }
     }
 }
@@ -81,6 +81,33 @@ public abstract class WizardPageController<T extends Optional<?>> {
      */
     protected abstract T calculateResult();
 
+    /**
+     * Creates a snapshot of the state of this controller. A {@link Wizard} which limits the number of retained pages
+     * unloads pages that were not shown recently and uses the snapshot for recreating the state of a new controller
+     * instance via {@link #restoreSnapshot(Object)} as soon as the page is shown again. The snapshot should contain
+     * only the data required for recreating the state but no nodes.
+     *
+     * @return The snapshot of the state of this controller or {@link Optional#empty()} if this controller does not
+     * support snapshots. Pages whose controllers do not support snapshots are never unloaded.
+     * @since 1.61
+     */
+    @NotNull
+    protected Optional<?> createSnapshot() {
+        return Optional.empty();
+    }
+
+    /**
+     * Restores the state represented by a snapshot created by {@link #createSnapshot()}. This method is called after
+     * {@link WizardPage#afterControllerInitialized()}.
+     *
+     * @param snapshot The snapshot previously created by {@link #createSnapshot()} of another instance of this
+     *                 controller.
+     * @since 1.61
+     */
+    protected void restoreSnapshot(@NotNull Object snapshot) {
+        // No op
+    }
+
     @NotNull
     public ReadOnlyBooleanProperty validProperty() {
         return valid;
@@ -0,0 +1,48 @@
+package bayern.steinbrecher.wizard;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * Describes a page of a wizard in terms of its navigation only. It allows {@link WizardNavigator} to evaluate a wizard
+ * without any UI toolkit.
+ *
+ * @author Stefan Huber
+ * @since 1.61
+ */
+public interface WizardPageDescriptor {
+    /**
+     * @return {@code true} only if the wizard may finish at this page.
+     */
+    boolean isFinish();
+
+    /**
+     * @return The function calculating the key of the next page or {@code null} if this page has no next one.
+     */
+    @Nullable
+    Supplier<String> getNextFunction();
+
+    /**
+     * @return The function calculating the key of the next page asynchronously or {@code null} if this page has no
+     * asynchronous next-function. A page has either a next-function or an asynchronous one.
+     */
+    @Nullable
+    default Supplier<? extends CompletionStage<String>> getAsyncNextFunction() {
+        return null;
+    }
+
+    /**
+     * @return {@code true} only if this page has a next-function or an asynchronous next-function.
+     */
+    default boolean hasNext() {
+        return getNextFunction() != null || getAsyncNextFunction() != null;
+    }
+
+    /**
+     * @return {@code true} only if the input of this page is valid. Only valid pages allow to go to the next page or
+     * to finish the wizard.
+     */
+    boolean isValid();
+}
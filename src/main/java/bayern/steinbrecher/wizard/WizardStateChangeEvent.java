@@ -0,0 +1,28 @@
+package bayern.steinbrecher.wizard;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded whenever the {@link WizardState} of a {@link Wizard} changes.
+ *
+ * @author Stefan Huber
+ * @since 1.61
+ */
+@Name("bayern.steinbrecher.wizard.StateChange")
+@Label("Wizard State Change")
+@Category({"Wizard"})
+@Description("Change of the state of a wizard")
+final class WizardStateChangeEvent extends Event {
+    @Label("Page Key")
+    String pageKey;
+    @Label("Page Class")
+    Class<?> pageClass;
+    @Label("Previous State")
+    String previousState;
+    @Label("State")
+    String state;
+}
@@ -0,0 +1,54 @@
+package bayern.steinbrecher.wizard.pages;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publishes the options of a {@link CompletionStage} as a single batch. Each subscriber receives the batch as soon as
+ * the stage completes.
+ *
+ * @param <T> The type of the options.
+ * @author Stefan Huber
+ * @since 1.61
+ */
+final class CompletionStagePublisher<T> implements Flow.Publisher<Collection<? extends T>> {
+
+    private final CompletionStage<? extends Collection<? extends T>> options;
+
+    CompletionStagePublisher(@NotNull CompletionStage<? extends Collection<? extends T>> options) {
+        this.options = Objects.requireNonNull(options);
+    }
+
+    @Override
+    public void subscribe(@NotNull Flow.Subscriber<? super Collection<? extends T>> subscriber) {
+        AtomicBoolean requested = new AtomicBoolean(false);
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    subscriber.onError(
+                            new IllegalArgumentException("The number of requested batches must be positive"));
+                } else if (requested.compareAndSet(false, true)) {
+                    options.whenComplete((batch, ex) -> {
+                        if (ex == null) {
+                            subscriber.onNext(batch);
+                            subscriber.onComplete();
+                        } else {
+                            subscriber.onError(ex);
+                        }
+                    });
+                }
+            }
+
+            @Override
+            public void cancel() {
+                requested.set(true);
+            }
+        });
+    }
+}
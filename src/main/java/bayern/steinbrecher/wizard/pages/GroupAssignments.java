@@ -0,0 +1,162 @@
+package bayern.steinbrecher.wizard.pages;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Associates options identified by their positions with groups identified by slots. Besides the slot of each option
+ * the positions of the options associated with each slot are kept. Hence all options of a group are found in time
+ * linear in their number and changing an association takes constant time.
+ *
+ * @author Stefan Huber
+ * @since 1.61
+ */
+final class GroupAssignments {
+
+    /**
+     * The slot of options which are not associated with any group.
+     */
+    static final int NO_GROUP = -1;
+    private static final int INITIAL_MEMBER_CAPACITY = 8;
+    /**
+     * The slot of each option or {@link #NO_GROUP}.
+     */
+    private int[] slots = new int[0];
+    /**
+     * The index of each associated option within the members of its slot.
+     */
+    private int[] memberIndices = new int[0];
+    /**
+     * The positions of the options associated with each slot. Only the first {@link #sizes} entries are valid.
+     */
+    private int[][] members = new int[0][];
+    private int[] sizes = new int[0];
+    private int numAssigned;
+
+    /**
+     * Replaces all options and their associations.
+     *
+     * @param slots The slot of each option or {@link #NO_GROUP}.
+     */
+    void reset(@NotNull int[] slots) {
+        this.slots = slots.clone();
+        memberIndices = new int[slots.length];
+        Arrays.fill(sizes, 0);
+        numAssigned = 0;
+        for (int position = 0; position < slots.length; position++) {
+            if (slots[position] != NO_GROUP) {
+                addMember(slots[position], position);
+                numAssigned++;
+            }
+        }
+    }
+
+    /**
+     * Makes sure that there are at least {@code numSlots} slots.
+     */
+    void ensureSlots(int numSlots) {
+        if (members.length < numSlots) {
+            int previousNumSlots = members.length;
+            members = Arrays.copyOf(members, numSlots);
+            sizes = Arrays.copyOf(sizes, numSlots);
+            for (int slot = previousNumSlots; slot < numSlots; slot++) {
+                members[slot] = new int[INITIAL_MEMBER_CAPACITY];
+            }
+        }
+    }
+
+    private void addMember(int slot, int position) {
+        if (sizes[slot] == members[slot].length) {
+            members[slot] = Arrays.copyOf(members[slot], 2 * members[slot].length);
+        }
+        memberIndices[position] = sizes[slot];
+        members[slot][sizes[slot]++] = position;
+    }
+
+    private void removeMember(int slot, int position) {
+        // Move the last member into the gap
+        int lastPosition = members[slot][--sizes[slot]];
+        members[slot][memberIndices[position]] = lastPosition;
+        memberIndices[lastPosition] = memberIndices[position];
+    }
+
+    /**
+     * @param position The position of the option to associate.
+     * @param slot     The slot to associate the option with or {@link #NO_GROUP}.
+     * @return The slot the option was associated with before.
+     */
+    int assign(int position, int slot) {
+        int previousSlot = slots[position];
+        if (previousSlot != slot) {
+            if (previousSlot != NO_GROUP) {
+                removeMember(previousSlot, position);
+                numAssigned--;
+            }
+            if (slot != NO_GROUP) {
+                addMember(slot, position);
+                numAssigned++;
+            }
+            slots[position] = slot;
+        }
+        return previousSlot;
+    }
+
+    /**
+     * @return The slot the option at the given position is associated with or {@link #NO_GROUP}.
+     */
+    int getSlot(int position) {
+        return slots[position];
+    }
+
+    /**
+     * @return The number of options associated with the given slot.
+     */
+    int count(int slot) {
+        return slot < sizes.length ? sizes[slot] : 0;
+    }
+
+    /**
+     * @return The number of options associated with any slot.
+     */
+    int countAssigned() {
+        return numAssigned;
+    }
+
+    /**
+     * @return The positions of the options associated with the given slot in no particular order.
+     */
+    @NotNull
+    int[] membersOf(int slot) {
+        return slot < members.length ? Arrays.copyOf(members[slot], sizes[slot]) : new int[0];
+    }
+
+    /**
+     * @return The ascending positions of the options associated with the given slot or of the options associated with
+     * no slot if it is {@link #NO_GROUP}.
+     */
+    @NotNull
+    int[] positionsOf(int slot) {
+        int[] positions;
+        if (slot == NO_GROUP) {
+            positions = new int[slots.length - numAssigned];
+            int numPositions = 0;
+            for (int position = 0; position < slots.length; position++) {
+                if (slots[position] == NO_GROUP) {
+                    positions[numPositions++] = position;
+                }
+            }
+        } else {
+            positions = membersOf(slot);
+            Arrays.sort(positions);
+        }
+        return positions;
+    }
+
+    /**
+     * @return The number of options.
+     */
+    int size() {
+        return slots.length;
+    }
+}
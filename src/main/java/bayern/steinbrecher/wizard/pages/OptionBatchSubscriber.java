@@ -0,0 +1,151 @@
+package bayern.steinbrecher.wizard.pages;
+
+import javafx.application.Platform;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+/**
+ * Receives batches of options and passes them to the JavaFX application thread. Batches which arrive while the
+ * JavaFX application thread is still handling previous ones are buffered and passed at once. Hence the options are
+ * merged only once per turn of the JavaFX application thread instead of once per batch. Further batches are requested
+ * only as long as the buffered options do not exceed the number of options which were already passed. Hence a fast
+ * publisher can neither flood the JavaFX application thread nor the memory while the total costs of merging stay
+ * linear in the number of options.
+ *
+ * @param <T> The type of the options.
+ * @author Stefan Huber
+ * @since 1.61
+ */
+final class OptionBatchSubscriber<T> implements Flow.Subscriber<Collection<? extends T>> {
+
+    /**
+     * The number of options which may be buffered at least before requesting further batches is suspended.
+     */
+    private static final int MIN_BUFFERED_OPTIONS = 1 << 10;
+    private final Consumer<Collection<? extends T>> batchHandler;
+    private final Consumer<Throwable> completionHandler;
+    private volatile Flow.Subscription subscription;
+    private volatile boolean cancelled;
+    /*
+     * NOTE The following fields are accessed by the publisher as well as by the JavaFX application thread and are
+     * guarded by this subscriber.
+     */
+    private List<T> bufferedOptions = new ArrayList<>();
+    private int numPassedOptions;
+    /**
+     * Whether a batch was requested which was not received yet.
+     */
+    private boolean batchRequested;
+    private boolean flushScheduled;
+    private boolean completed;
+    private Throwable completionCause;
+
+    /**
+     * @param batchHandler      Called on the JavaFX application thread with all options received since its last call.
+     * @param completionHandler Called on the JavaFX application thread as soon as all batches were received and passed
+     *                          to {@code batchHandler}. It receives {@code null} on success and the cause otherwise.
+     */
+    OptionBatchSubscriber(@NotNull Consumer<Collection<? extends T>> batchHandler,
+                          @NotNull Consumer<Throwable> completionHandler) {
+        this.batchHandler = Objects.requireNonNull(batchHandler);
+        this.completionHandler = Objects.requireNonNull(completionHandler);
+    }
+
+    @Override
+    public void onSubscribe(@NotNull Flow.Subscription subscription) {
+        if (this.subscription == null && !cancelled) {
+            this.subscription = subscription;
+            synchronized (this) {
+                batchRequested = true;
+            }
+            subscription.request(1);
+        } else {
+            subscription.cancel();
+        }
+    }
+
+    @Override
+    public void onNext(@NotNull Collection<? extends T> batch) {
+        boolean requestNext;
+        synchronized (this) {
+            bufferedOptions.addAll(batch);
+            requestNext = bufferedOptions.size() < Math.max(MIN_BUFFERED_OPTIONS, numPassedOptions);
+            batchRequested = requestNext;
+            scheduleFlush();
+        }
+        if (requestNext && !cancelled) {
+            subscription.request(1);
+        }
+    }
+
+    @Override
+    public void onError(@NotNull Throwable throwable) {
+        complete(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        complete(null);
+    }
+
+    private synchronized void complete(Throwable cause) {
+        completed = true;
+        completionCause = cause;
+        scheduleFlush();
+    }
+
+    private synchronized void scheduleFlush() {
+        if (!flushScheduled) {
+            flushScheduled = true;
+            Platform.runLater(this::flush);
+        }
+    }
+
+    /**
+     * Passes all buffered options to the batch handler and calls the completion handler if all batches were received.
+     * It runs on the JavaFX application thread.
+     */
+    private void flush() {
+        List<T> options;
+        boolean requestNext;
+        boolean completedBeforeFlush;
+        Throwable cause;
+        synchronized (this) {
+            flushScheduled = false;
+            options = bufferedOptions;
+            bufferedOptions = new ArrayList<>();
+            numPassedOptions += options.size();
+            completedBeforeFlush = completed;
+            cause = completionCause;
+            requestNext = !batchRequested && !completed;
+            batchRequested |= requestNext;
+        }
+        if (!cancelled) {
+            if (!options.isEmpty()) {
+                batchHandler.accept(options);
+            }
+            if (completedBeforeFlush) {
+                completionHandler.accept(cause);
+            } else if (requestNext) {
+                subscription.request(1);
+            }
+        }
+    }
+
+    /**
+     * Stops receiving batches. Neither the batch handler nor the completion handler are called afterwards.
+     */
+    void cancel() {
+        cancelled = true;
+        Flow.Subscription currentSubscription = subscription;
+        if (currentSubscription != null) {
+            currentSubscription.cancel();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package bayern.steinbrecher.wizard.pages;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Provides options which are too many for loading all of them at once, e.g. the rows of a large database table. The
+ * options are requested by ranges of positions within a fixed order which the provider defines. All methods are called
+ * on a background thread.
+ *
+ * @param <T> The type of the options. Selected options are identified by {@link Object#equals(Object)} and
+ *            {@link Object#hashCode()}.
+ * @author Stefan Huber
+ * @see SelectionController#setDataProvider(OptionDataProvider)
+ * @since 1.61
+ */
+public interface OptionDataProvider<T> {
+
+    /**
+     * @param filter The text the textual representation of the options has to contain ignoring the case or the empty
+     *               string for counting all options. Only non-empty if {@link #supportsFiltering()} is {@code true}.
+     * @return The number of options matching {@code filter}.
+     */
+    int count(@NotNull String filter);
+
+    /**
+     * @param filter The text the textual representation of the options has to contain ignoring the case or the empty
+     *               string for fetching from all options. Only non-empty if {@link #supportsFiltering()} is
+     *               {@code true}.
+     * @param offset The position of the first option to fetch among the options matching {@code filter}.
+     * @param limit  The maximum number of options to fetch.
+     * @return The options matching {@code filter} at the positions from {@code offset} on.
+     */
+    @NotNull
+    List<? extends T> fetch(@NotNull String filter, int offset, int limit);
+
+    /**
+     * @return {@code true} only if this provider evaluates the filter passed to {@link #count(String)} and
+     * {@link #fetch(String, int, int)}. Otherwise the search of a selection is disabled.
+     */
+    default boolean supportsFiltering() {
+        return false;
+    }
+}
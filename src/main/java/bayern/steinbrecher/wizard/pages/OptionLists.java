@@ -0,0 +1,85 @@
+package bayern.steinbrecher.wizard.pages;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Helper methods for the sorted lists of options shown by selection pages.
+ *
+ * @author Stefan Huber
+ * @since 1.61
+ */
+final class OptionLists {
+
+    /**
+     * The minimum number of options which are sorted in parallel.
+     */
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 13;
+
+    private OptionLists() {
+        throw new UnsupportedOperationException("Construction of an object is not allowed");
+    }
+
+    /**
+     * Sorts options by keys which are computed only once per option. Large collections are sorted in parallel. The
+     * sort is stable.
+     *
+     * @param options The options to sort.
+     * @param sortKey The function computing the key of an option.
+     * @return A new list containing the given options sorted by their keys.
+     */
+    @NotNull
+    static <E, K extends Comparable<? super K>> List<E> sortByKey(
+            @NotNull Collection<? extends E> options, @NotNull Function<? super E, ? extends K> sortKey) {
+        List<KeyedOption<E, K>> keyedOptions = sortKeyed(options, sortKey);
+        List<E> sorted = new ArrayList<>(keyedOptions.size());
+        for (KeyedOption<E, K> keyedOption : keyedOptions) {
+            sorted.add(keyedOption.option());
+        }
+        return sorted;
+    }
+
+    /**
+     * Same as {@link #sortByKey(Collection, Function)} but keeps the computed keys next to the options.
+     *
+     * @return A new list containing the given options and their keys sorted by the keys.
+     */
+    @NotNull
+    static <E, K extends Comparable<? super K>> List<KeyedOption<E, K>> sortKeyed(
+            @NotNull Collection<? extends E> options, @NotNull Function<? super E, ? extends K> sortKey) {
+        Object[] optionArray = options.toArray();
+        @SuppressWarnings("unchecked")
+        KeyedOption<E, K>[] keyedOptions = (KeyedOption<E, K>[]) new KeyedOption<?, ?>[optionArray.length];
+        IntStream indices = IntStream.range(0, optionArray.length);
+        boolean parallel = optionArray.length >= PARALLEL_SORT_THRESHOLD;
+        (parallel ? indices.parallel() : indices).forEach(index -> {
+            @SuppressWarnings("unchecked")
+            E option = (E) optionArray[index];
+            keyedOptions[index] = new KeyedOption<>(option, sortKey.apply(option));
+        });
+        if (parallel) {
+            Arrays.parallelSort(keyedOptions);
+        } else {
+            Arrays.sort(keyedOptions);
+        }
+        return Arrays.asList(keyedOptions);
+    }
+
+    /**
+     * @param option An option.
+     * @param key    The key the option is sorted by.
+     */
+    record KeyedOption<E, K extends Comparable<? super K>>(E option, K key)
+            implements Comparable<KeyedOption<E, K>> {
+        @Override
+        public int compareTo(@NotNull KeyedOption<E, K> other) {
+            return key.compareTo(other.key);
+        }
+    }
+}
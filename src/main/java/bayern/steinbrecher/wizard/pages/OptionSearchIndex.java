@@ -0,0 +1,293 @@
+package bayern.steinbrecher.wizard.pages;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * An immutable index for searching the textual representations of options. The textual representations are
+ * normalized once and the positions of all options containing a certain trigram are kept in ascending posting lists.
+ * A query of at least three characters only verifies the options contained in the intersection of the posting lists
+ * of its trigrams. Options whose textual representation is {@code null} or blank match any query. An index can be
+ * updated to changed options reusing the work done for the options it already contains. Building, updating and
+ * searching check regularly whether they were cancelled. Hence all of them can run on a background thread and be
+ * abandoned as soon as a newer query arrives.
+ *
+ * @author Stefan Huber
+ * @since 1.61
+ */
+final class OptionSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+    private static final int CANCELLATION_CHECK_INTERVAL = 1 << 12;
+    /**
+     * The normalized textual representations of the options or {@code null} for options that match any query.
+     */
+    private final String[] keys;
+    private final Map<Long, int[]> postings;
+    private final int[] positionsMatchingAll;
+
+    private OptionSearchIndex(@NotNull String[] keys, @NotNull Map<Long, int[]> postings,
+                              @NotNull int[] positionsMatchingAll) {
+        this.keys = keys;
+        this.postings = postings;
+        this.positionsMatchingAll = positionsMatchingAll;
+    }
+
+    @NotNull
+    static String normalize(@NotNull String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    private static long gramAt(@NotNull String key, int position) {
+        return ((long) key.charAt(position) << (2 * Character.SIZE))
+                | ((long) key.charAt(position + 1) << Character.SIZE)
+                | key.charAt(position + 2);
+    }
+
+    private static void checkCancelled(int iteration, @NotNull BooleanSupplier cancelled) {
+        if (iteration % CANCELLATION_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+            throw new CancellationException();
+        }
+    }
+
+    /**
+     * Creates an index over the textual representations of the given options.
+     *
+     * @param options   The options to index. The positions returned by {@link #search(String, int[], BooleanSupplier)}
+     *                  refer to this list.
+     * @param cancelled Whether the creation should be abandoned.
+     * @throws CancellationException If the creation was abandoned.
+     */
+    @NotNull
+    static OptionSearchIndex build(@NotNull List<?> options, @NotNull BooleanSupplier cancelled) {
+        String[] keys = new String[options.size()];
+        Map<Long, PostingBuilder> postingBuilders = new HashMap<>();
+        PostingBuilder positionsMatchingAll = new PostingBuilder();
+        for (int position = 0; position < keys.length; position++) {
+            checkCancelled(position, cancelled);
+            indexOption(options, position, keys, postingBuilders, positionsMatchingAll);
+        }
+        Map<Long, int[]> postings = new HashMap<>(postingBuilders.size() * 4 / 3 + 1);
+        postingBuilders.forEach((gram, builder) -> postings.put(gram, builder.build()));
+        return new OptionSearchIndex(keys, postings, positionsMatchingAll.build());
+    }
+
+    /**
+     * Creates an index over the given options which reuses the normalized textual representations and the posting
+     * lists of this index for the options it already contains. Only the added options are normalized and split into
+     * trigrams.
+     *
+     * @param options       The options to index. The positions returned by
+     *                      {@link #search(String, int[], BooleanSupplier)} refer to this list.
+     * @param previousToNew The position within {@code options} of each option indexed by this index or {@code -1} if
+     *                      it was removed. The positions of the remaining options have to be ascending.
+     * @param cancelled     Whether the creation should be abandoned.
+     * @throws CancellationException If the creation was abandoned.
+     */
+    @NotNull
+    OptionSearchIndex update(@NotNull List<?> options, @NotNull int[] previousToNew,
+                             @NotNull BooleanSupplier cancelled) {
+        String[] updatedKeys = new String[options.size()];
+        BitSet remaining = new BitSet(updatedKeys.length);
+        for (int previousPosition = 0; previousPosition < keys.length; previousPosition++) {
+            int position = previousToNew[previousPosition];
+            if (position >= 0) {
+                updatedKeys[position] = keys[previousPosition];
+                remaining.set(position);
+            }
+        }
+        Map<Long, PostingBuilder> addedPostingBuilders = new HashMap<>();
+        PostingBuilder addedPositionsMatchingAll = new PostingBuilder();
+        int iteration = 0;
+        for (int position = remaining.nextClearBit(0); position < updatedKeys.length;
+             position = remaining.nextClearBit(position + 1)) {
+            checkCancelled(iteration++, cancelled);
+            indexOption(options, position, updatedKeys, addedPostingBuilders, addedPositionsMatchingAll);
+        }
+        Map<Long, int[]> updatedPostings = new HashMap<>((postings.size() + addedPostingBuilders.size()) * 4 / 3 + 1);
+        for (Map.Entry<Long, int[]> posting : postings.entrySet()) {
+            checkCancelled(iteration++, cancelled);
+            int[] remainingPositions = remap(posting.getValue(), previousToNew);
+            PostingBuilder addedPositions = addedPostingBuilders.remove(posting.getKey());
+            if (addedPositions != null) {
+                remainingPositions = union(remainingPositions, addedPositions.build());
+            }
+            if (remainingPositions.length > 0) {
+                updatedPostings.put(posting.getKey(), remainingPositions);
+            }
+        }
+        addedPostingBuilders.forEach((gram, builder) -> updatedPostings.put(gram, builder.build()));
+        return new OptionSearchIndex(updatedKeys, updatedPostings,
+                union(remap(positionsMatchingAll, previousToNew), addedPositionsMatchingAll.build()));
+    }
+
+    /**
+     * Normalizes the textual representation of the option at {@code position} and adds it to the given posting lists.
+     * Options have to be indexed in ascending order of their positions.
+     */
+    private static void indexOption(@NotNull List<?> options, int position, @NotNull String[] keys,
+                                    @NotNull Map<Long, PostingBuilder> postingBuilders,
+                                    @NotNull PostingBuilder positionsMatchingAll) {
+        String text = options.get(position).toString();
+        if (text == null || text.isBlank()) {
+            positionsMatchingAll.add(position);
+        } else {
+            String key = normalize(text);
+            keys[position] = key;
+            for (int gramStart = 0; gramStart + GRAM_LENGTH <= key.length(); gramStart++) {
+                postingBuilders.computeIfAbsent(gramAt(key, gramStart), gram -> new PostingBuilder())
+                        .add(position);
+            }
+        }
+    }
+
+    /**
+     * @return The new positions of the given ascending positions without those which were removed.
+     */
+    @NotNull
+    private static int[] remap(@NotNull int[] positions, @NotNull int[] previousToNew) {
+        int[] remapped = new int[positions.length];
+        int size = 0;
+        for (int position : positions) {
+            int newPosition = previousToNew[position];
+            if (newPosition >= 0) {
+                remapped[size++] = newPosition;
+            }
+        }
+        return size == remapped.length ? remapped : Arrays.copyOf(remapped, size);
+    }
+
+    /**
+     * @return The ascending positions of the options containing all trigrams of {@code normalizedQuery} and the
+     * positions of the options matching any query.
+     */
+    @NotNull
+    private int[] findCandidates(@NotNull String normalizedQuery) {
+        int[][] queryPostings = new int[normalizedQuery.length() - GRAM_LENGTH + 1][];
+        for (int gramStart = 0; gramStart < queryPostings.length; gramStart++) {
+            int[] posting = postings.get(gramAt(normalizedQuery, gramStart));
+            if (posting == null) {
+                return positionsMatchingAll;
+            }
+            queryPostings[gramStart] = posting;
+        }
+        Arrays.sort(queryPostings, Comparator.comparingInt(posting -> posting.length));
+        int[] intersection = queryPostings[0];
+        for (int i = 1; i < queryPostings.length && intersection.length > 0; i++) {
+            intersection = intersect(intersection, queryPostings[i]);
+        }
+        return union(intersection, positionsMatchingAll);
+    }
+
+    @NotNull
+    private static int[] intersect(@NotNull int[] smaller, @NotNull int[] larger) {
+        int[] intersection = new int[smaller.length];
+        int size = 0;
+        int largerIndex = 0;
+        for (int position : smaller) {
+            while (largerIndex < larger.length && larger[largerIndex] < position) {
+                largerIndex++;
+            }
+            if (largerIndex < larger.length && larger[largerIndex] == position) {
+                intersection[size++] = position;
+            }
+        }
+        return Arrays.copyOf(intersection, size);
+    }
+
+    @NotNull
+    private static int[] union(@NotNull int[] positionsA, @NotNull int[] positionsB) {
+        if (positionsB.length == 0) {
+            return positionsA;
+        }
+        int[] union = new int[positionsA.length + positionsB.length];
+        int size = 0;
+        int indexA = 0;
+        int indexB = 0;
+        while (indexA < positionsA.length || indexB < positionsB.length) {
+            if (indexB >= positionsB.length
+                    || (indexA < positionsA.length && positionsA[indexA] < positionsB[indexB])) {
+                union[size++] = positionsA[indexA++];
+            } else if (indexA >= positionsA.length || positionsB[indexB] < positionsA[indexA]) {
+                union[size++] = positionsB[indexB++];
+            } else {
+                union[size++] = positionsA[indexA++];
+                indexB++;
+            }
+        }
+        return Arrays.copyOf(union, size);
+    }
+
+    /**
+     * Searches the options whose normalized textual representation contains the normalized query.
+     *
+     * @param query      The query to search for.
+     * @param candidates The ascending positions of the only options which may match. If the previous query is
+     *                   contained in {@code query} its matches can be passed such that only these are verified again.
+     *                   Use {@code null} for considering all options.
+     * @param cancelled  Whether the search should be abandoned.
+     * @return The ascending positions of the matching options.
+     * @throws CancellationException If the search was abandoned.
+     */
+    @NotNull
+    int[] search(@NotNull String query, @Nullable int[] candidates, @NotNull BooleanSupplier cancelled) {
+        String normalizedQuery = normalize(query);
+        int[] scope = candidates;
+        if (normalizedQuery.length() >= GRAM_LENGTH) {
+            int[] gramCandidates = findCandidates(normalizedQuery);
+            if (scope == null) {
+                scope = gramCandidates;
+            } else if (gramCandidates.length < scope.length) {
+                scope = intersect(gramCandidates, scope);
+            } else {
+                scope = intersect(scope, gramCandidates);
+            }
+        }
+        int scopeSize = scope == null ? keys.length : scope.length;
+        int[] matches = new int[scopeSize];
+        int numMatches = 0;
+        for (int i = 0; i < scopeSize; i++) {
+            checkCancelled(i, cancelled);
+            int position = scope == null ? i : scope[i];
+            String key = keys[position];
+            if (key == null || key.contains(normalizedQuery)) {
+                matches[numMatches++] = position;
+            }
+        }
+        return Arrays.copyOf(matches, numMatches);
+    }
+
+    /**
+     * Collects ascending positions without duplicates.
+     */
+    private static final class PostingBuilder {
+        private static final int INITIAL_CAPACITY = 4;
+        private int[] positions = new int[INITIAL_CAPACITY];
+        private int size;
+
+        void add(int position) {
+            // Positions are added in ascending order hence duplicates are always adjacent
+            if (size == 0 || positions[size - 1] != position) {
+                if (size == positions.length) {
+                    positions = Arrays.copyOf(positions, 2 * size);
+                }
+                positions[size++] = position;
+            }
+        }
+
+        @NotNull
+        int[] build() {
+            return Arrays.copyOf(positions, size);
+        }
+    }
+}
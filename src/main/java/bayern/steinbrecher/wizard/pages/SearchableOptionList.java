@@ -0,0 +1,302 @@
+package bayern.steinbrecher.wizard.pages;
+
+import javafx.application.Platform;
+import javafx.collections.ObservableListBase;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A read-only {@link javafx.collections.ObservableList} showing those options whose textual representation contains a
+ * query. In contrast to a {@link javafx.collections.transformation.FilteredList} the matching options are searched on
+ * a background thread using an {@link OptionSearchIndex}. The index is created at the first non-empty query. If the
+ * options change such that the previous options keep their relative order the index is only updated at the next
+ * non-empty query instead of being recreated. A query containing the previous one only verifies the previous matches
+ * again. Changing the query or the options abandons any search which is still running. Additionally the options may
+ * be restricted to a subset which is searched only. Every update of the shown options fires a single change.
+ * Instances must only be used on the JavaFX application thread.
+ *
+ * @param <E> The type of the options.
+ * @author Stefan Huber
+ * @since 1.61
+ */
+final class SearchableOptionList<E> extends ObservableListBase<E> {
+
+    private static final Logger LOGGER = Logger.getLogger(SearchableOptionList.class.getName());
+    private static final Executor SEARCH_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "wizard-option-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private List<E> options = List.of();
+    /**
+     * The ascending positions of the shown options within {@link #options} or {@code null} if all options are shown.
+     */
+    private int[] positions;
+    /**
+     * The ascending positions of the only options which may be shown or {@code null} if any option may be shown.
+     */
+    private int[] restriction;
+    private String query = "";
+    /**
+     * The query whose matches are exactly the shown options or {@code null} if the shown options are preliminary.
+     */
+    private String shownQuery = "";
+    /**
+     * The index over {@link #options} or over previous options (see {@link #indexToOptions}) or {@code null} if it was
+     * not created yet.
+     */
+    private OptionSearchIndex searchIndex;
+    /**
+     * The position within {@link #options} of each option indexed by {@link #searchIndex} or {@code -1} if it was
+     * removed. {@code null} if {@link #searchIndex} indexes exactly {@link #options}.
+     */
+    private int[] indexToOptions;
+    /**
+     * Whether the search which is currently running should be abandoned or {@code null} if there is none.
+     */
+    private AtomicBoolean pendingSearchCancelled;
+
+    /**
+     * Replaces the options to search in and shows those matching the current query. Without a query the change only
+     * reports the removed and the added options. Any restriction is dropped.
+     *
+     * @param options       The options. The list must not be changed afterwards.
+     * @param previousToNew The new position of each previous option or {@code -1} if it was removed. {@code null} if
+     *                      the previous options are unrelated to the new ones. The positions of the remaining options
+     *                      have to be ascending. If given, the remaining matches stay visible until the search within
+     *                      the new options finished.
+     */
+    void setOptions(@NotNull List<E> options, @Nullable int[] previousToNew) {
+        cancelSearch();
+        if (previousToNew == null) {
+            searchIndex = null;
+            indexToOptions = null;
+        } else if (searchIndex != null) {
+            indexToOptions = indexToOptions == null ? previousToNew : compose(indexToOptions, previousToNew);
+        }
+        restriction = null;
+        if (query.isEmpty()) {
+            if (previousToNew == null) {
+                setContent(options, null);
+            } else {
+                replaceAll(options, previousToNew);
+            }
+        } else {
+            int[] previousMatches = new int[0];
+            if (previousToNew != null) {
+                previousMatches = new int[size()];
+                int numPreviousMatches = 0;
+                for (int index = 0; index < previousMatches.length; index++) {
+                    int newPosition = previousToNew[getSourceIndex(index)];
+                    if (newPosition >= 0) {
+                        previousMatches[numPreviousMatches++] = newPosition;
+                    }
+                }
+                previousMatches = Arrays.copyOf(previousMatches, numPreviousMatches);
+            }
+            setContent(options, previousMatches);
+            shownQuery = null;
+            search(null);
+        }
+    }
+
+    /**
+     * @return The mapping resulting from applying {@code firstToSecond} and {@code secondToThird} one after another.
+     */
+    @NotNull
+    private static int[] compose(@NotNull int[] firstToSecond, @NotNull int[] secondToThird) {
+        int[] firstToThird = new int[firstToSecond.length];
+        for (int position = 0; position < firstToSecond.length; position++) {
+            int secondPosition = firstToSecond[position];
+            firstToThird[position] = secondPosition < 0 ? -1 : secondToThird[secondPosition];
+        }
+        return firstToThird;
+    }
+
+    /**
+     * Shows all of the given options and reports only the removed and the added ones.
+     */
+    private void replaceAll(@NotNull List<E> options, @NotNull int[] previousToNew) {
+        List<E> previousOptions = this.options;
+        this.options = options;
+        this.positions = null;
+        beginChange();
+        // Everything before newIndex already corresponds to the new options
+        int newIndex = 0;
+        for (int previousIndex = 0; previousIndex < previousOptions.size(); previousIndex++) {
+            int newPosition = previousToNew[previousIndex];
+            if (newPosition < 0) {
+                nextRemove(newIndex, previousOptions.get(previousIndex));
+            } else {
+                if (newIndex < newPosition) {
+                    nextAdd(newIndex, newPosition);
+                }
+                newIndex = newPosition + 1;
+            }
+        }
+        if (newIndex < options.size()) {
+            nextAdd(newIndex, options.size());
+        }
+        endChange();
+    }
+
+    /**
+     * Shows only the options whose textual representation contains the given query ignoring the case. The options
+     * are updated as soon as the search finished. Options whose textual representation is {@code null} or blank are
+     * always shown.
+     *
+     * @param query The query to search for. The empty query shows all options immediately.
+     */
+    void setQuery(@NotNull String query) {
+        this.query = Objects.requireNonNull(query);
+        cancelSearch();
+        if (query.isEmpty()) {
+            setContent(options, restriction);
+            shownQuery = query;
+        } else {
+            boolean narrowing = shownQuery != null && !shownQuery.isEmpty() && query.contains(shownQuery);
+            search(narrowing ? positions : restriction);
+        }
+    }
+
+    /**
+     * Shows only those options matching the current query which are at the given positions. The restriction applies
+     * until it is replaced or the options change.
+     *
+     * @param restriction The ascending positions of the only options which may be shown or {@code null} if any option
+     *                    may be shown.
+     */
+    void setRestriction(@Nullable int[] restriction) {
+        this.restriction = restriction;
+        cancelSearch();
+        if (query.isEmpty()) {
+            setContent(options, restriction);
+        } else {
+            shownQuery = null;
+            search(restriction);
+        }
+    }
+
+    /**
+     * @param candidates The ascending positions of the only options which may match or {@code null} if any option may
+     *                   match.
+     */
+    private void search(@Nullable int[] candidates) {
+        List<E> searchedOptions = options;
+        OptionSearchIndex availableIndex = searchIndex;
+        int[] availableIndexToOptions = indexToOptions;
+        String searchedQuery = query;
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+        pendingSearchCancelled = cancelled;
+        CompletableFuture.supplyAsync(() -> {
+                    OptionSearchIndex index;
+                    if (availableIndex == null) {
+                        index = OptionSearchIndex.build(searchedOptions, cancelled::get);
+                    } else if (availableIndexToOptions == null) {
+                        index = availableIndex;
+                    } else {
+                        index = availableIndex.update(searchedOptions, availableIndexToOptions, cancelled::get);
+                    }
+                    return new SearchResult(index, index.search(searchedQuery, candidates, cancelled::get));
+                }, SEARCH_EXECUTOR)
+                .whenComplete((result, ex) -> Platform.runLater(() -> {
+                    if (!cancelled.get()) {
+                        pendingSearchCancelled = null;
+                        if (ex == null) {
+                            searchIndex = result.index();
+                            indexToOptions = null;
+                            setContent(searchedOptions, result.matches());
+                            shownQuery = searchedQuery;
+                        } else if (!(ex instanceof CancellationException
+                                || ex.getCause() instanceof CancellationException)) {
+                            LOGGER.log(Level.SEVERE, "Could not search the options",
+                                    ex instanceof CompletionException ? ex.getCause() : ex);
+                        }
+                    }
+                }));
+    }
+
+    private void cancelSearch() {
+        if (pendingSearchCancelled != null) {
+            pendingSearchCancelled.set(true);
+            pendingSearchCancelled = null;
+        }
+    }
+
+    private void setContent(@NotNull List<E> options, @Nullable int[] positions) {
+        List<E> removed = new ContentView<>(this.options, this.positions);
+        this.options = options;
+        this.positions = positions;
+        beginChange();
+        if (!removed.isEmpty()) {
+            nextRemove(0, removed);
+        }
+        if (!isEmpty()) {
+            nextAdd(0, size());
+        }
+        endChange();
+    }
+
+    /**
+     * @return The position of the option at {@code index} of this list within the options passed to
+     * {@link #setOptions(List, int[])}.
+     */
+    int getSourceIndex(int index) {
+        Objects.checkIndex(index, size());
+        return positions == null ? index : positions[index];
+    }
+
+    /**
+     * @return {@code true} only if all options are shown.
+     */
+    boolean isShowingAll() {
+        return positions == null;
+    }
+
+    @Override
+    public E get(int index) {
+        return options.get(getSourceIndex(index));
+    }
+
+    @Override
+    public int size() {
+        return positions == null ? options.size() : positions.length;
+    }
+
+    private record SearchResult(@NotNull OptionSearchIndex index, @NotNull int[] matches) {
+    }
+
+    private static final class ContentView<E> extends AbstractList<E> {
+        private final List<E> options;
+        private final int[] positions;
+
+        ContentView(@NotNull List<E> options, @Nullable int[] positions) {
+            this.options = options;
+            this.positions = positions;
+        }
+
+        @Override
+        public E get(int index) {
+            return options.get(positions == null ? index : positions[index]);
+        }
+
+        @Override
+        public int size() {
+            return positions == null ? options.size() : positions.length;
+        }
+    }
+}
@@ -4,14 +4,21 @@ import bayern.steinbrecher.wizard.StandaloneWizardPage;
 import javafx.scene.control.CheckBox;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
+ * A page for selecting any number of options. Each call of {@link #getResult()} returns a new modifiable set of the
+ * selected options. Modifying it does not affect the selection of this page.
+ *
  * @param <T> The type of the attributes being able to select.
  * @author Stefan Huber
  * @since 1.4
@@ -21,7 +28,7 @@ public class Selection<T extends Comparable<? extends T>>
 
     private static final long NUM_TIMEOUT_TICKS = 3;
     private static final TimeUnit TIMEOUT_TICK_UNIT = TimeUnit.SECONDS;
-    private final Supplier<Set<T>> options;
+    private final Consumer<SelectionController<T>> optionsLoader;
 
     /**
      * Creates a new page which represents each given option as selectable {@link CheckBox} and adds a search box which
@@ -35,12 +42,50 @@ public class Selection<T extends Comparable<? extends T>>
      * @since 1.51
      */
     public Selection(@NotNull Supplier<Set<T>> options) {
+        this((Consumer<SelectionController<T>>) controller -> controller.setOptions(options.get()));
+        Objects.requireNonNull(options);
+    }
+
+    /**
+     * Creates a page which is shown immediately and adds the published batches of options as soon as they arrive. The
+     * publisher is subscribed whenever the page is generated. Hence it has to support multiple subscriptions if the
+     * page may be unloaded (see {@link bayern.steinbrecher.wizard.Wizard#setMaxRetainedPages(int)}).
+     *
+     * @see SelectionController#loadOptions(Flow.Publisher)
+     * @since 1.61
+     */
+    public Selection(@NotNull Flow.Publisher<? extends Collection<? extends T>> optionBatches) {
+        this((Consumer<SelectionController<T>>) controller -> controller.loadOptions(optionBatches));
+        Objects.requireNonNull(optionBatches);
+    }
+
+    /**
+     * Creates a page which is shown immediately and adds the options as soon as {@code options} completes.
+     *
+     * @since 1.61
+     */
+    public Selection(@NotNull CompletionStage<? extends Set<T>> options) {
+        this(new CompletionStagePublisher<T>(options));
+    }
+
+    /**
+     * Creates a page which fetches only the options it currently shows from {@code provider}.
+     *
+     * @see SelectionController#setDataProvider(OptionDataProvider)
+     * @since 1.61
+     */
+    public Selection(@NotNull OptionDataProvider<T> provider) {
+        this((Consumer<SelectionController<T>>) controller -> controller.setDataProvider(provider));
+        Objects.requireNonNull(provider);
+    }
+
+    private Selection(@NotNull Consumer<SelectionController<T>> optionsLoader) {
         super("Selection.fxml", ResourceBundle.getBundle("bayern.steinbrecher.wizard.pages.Selection"));
-        this.options = Objects.requireNonNull(options);
+        this.optionsLoader = optionsLoader;
     }
 
     @Override
     protected void afterControllerInitialized() {
-        getController().setOptions(options.get());
+        optionsLoader.accept(getController());
     }
 }
@@ -1,36 +1,49 @@
 package bayern.steinbrecher.wizard.pages;
 
 import bayern.steinbrecher.wizard.StandaloneWizardPageController;
-import javafx.application.Platform;
+import bayern.steinbrecher.wizard.pages.OptionLists.KeyedOption;
 import javafx.beans.binding.Bindings;
-import javafx.beans.property.MapProperty;
 import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.ReadOnlyBooleanWrapper;
 import javafx.beans.property.ReadOnlyIntegerProperty;
 import javafx.beans.property.ReadOnlyIntegerWrapper;
-import javafx.beans.property.SimpleMapProperty;
+import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
-import javafx.beans.value.ChangeListener;
-import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.collections.transformation.FilteredList;
 import javafx.fxml.FXML;
 import javafx.scene.control.CheckBox;
+import javafx.scene.control.ContentDisplay;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
 import javafx.scene.control.ListView;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import org.jetbrains.annotations.NotNull;
 
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashSet;
-import java.util.Locale;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
- * Represents controller for Selection.fxml.
+ * Represents controller for Selection.fxml. The options are kept sorted and the selection is represented by a
+ * {@link BitSet} over the positions of the sorted options. Nodes are only created for the visible rows of the list.
+ * Searching for options runs on a background thread (see {@link SearchableOptionList}). Options of an
+ * {@link OptionDataProvider} are fetched as they become visible instead. Then only the selected options are kept
+ * besides a bounded window of fetched options.
  *
  * @param <T> The type of the objects being able to select.
  * @author Stefan Huber
@@ -39,18 +52,66 @@ import java.util.stream.Collectors;
 public class SelectionController<T extends Comparable<? extends T>>
         extends StandaloneWizardPageController<Optional<Set<T>>> {
 
-    private final MapProperty<T, Optional<CheckBox>> optionsProperty
-            = new SimpleMapProperty<>(FXCollections.observableHashMap());
+    private static final Logger LOGGER = Logger.getLogger(SelectionController.class.getName());
+    /**
+     * Compares the textual representations of options according to the default locale ignoring the case. Since a
+     * {@link Collator} is not thread-safe each thread uses its own instance. All instances share the same rules and
+     * hence create comparable {@link CollationKey}s.
+     */
+    private static final ThreadLocal<Collator> OPTION_COLLATOR = ThreadLocal.withInitial(() -> {
+        Collator collator = Collator.getInstance();
+        collator.setStrength(Collator.SECONDARY);
+        return collator;
+    });
+    private static final Comparator<Object> OPTION_ORDER
+            = (optionA, optionB) -> OPTION_COLLATOR.get().compare(optionA.toString(), optionB.toString());
+    /**
+     * Computes a key per option whose natural order is consistent with {@link #OPTION_ORDER}.
+     */
+    private static final Function<Object, CollationKey> OPTION_SORT_KEY
+            = option -> OPTION_COLLATOR.get().getCollationKey(option.toString());
+    /**
+     * The options sorted as shown. The list is replaced instead of being changed.
+     */
+    private List<T> sortedOptions = List.of();
+    /**
+     * The keys of {@link #sortedOptions} computed by {@link #OPTION_SORT_KEY}. The list is replaced together with
+     * {@link #sortedOptions}.
+     */
+    private List<CollationKey> sortedKeys = List.of();
+    private final SearchableOptionList<T> shownOptions = new SearchableOptionList<>();
+    private final WindowedOptionList<T> windowedOptions = new WindowedOptionList<>();
+    private final ObjectProperty<ObservableList<T>> listedOptions = new SimpleObjectProperty<>(shownOptions);
+    /**
+     * The selected options if the options are provided by an {@link OptionDataProvider}.
+     */
+    private final Set<T> selectedOptions = new HashSet<>();
+    /**
+     * The result for the current selection or {@code null} if it has to be calculated again.
+     */
+    private SelectionResult<T> cachedResult;
+    /**
+     * The positions of the selected options within {@link #sortedOptions}.
+     */
+    private BitSet selection = new BitSet();
     private final ReadOnlyIntegerWrapper selectedCount = new ReadOnlyIntegerWrapper(this, "selectedCount");
-    private final ReadOnlyIntegerProperty totalCount = optionsProperty.sizeProperty();
+    private final ReadOnlyIntegerWrapper totalCount = new ReadOnlyIntegerWrapper(this, "totalCount");
     private final ReadOnlyBooleanWrapper nothingSelected = new ReadOnlyBooleanWrapper(this, "nothingSelected");
     private final ReadOnlyBooleanWrapper allSelected = new ReadOnlyBooleanWrapper(this, "allSelected");
+    private final ReadOnlyBooleanWrapper loading = new ReadOnlyBooleanWrapper(this, "loading", false);
+    private final ReadOnlyBooleanWrapper windowed = new ReadOnlyBooleanWrapper(this, "windowed", false);
+    /**
+     * The subscriber receiving the options which are currently loaded asynchronously if any.
+     */
+    private OptionBatchSubscriber<T> optionLoading;
+    /**
+     * The options to select as soon as they are loaded.
+     */
+    private Set<T> pendingSelection = Set.of();
     @FXML
     private Label outOf;
     @FXML
-    private ListView<CheckBox> optionsListView; //TODO Use ListView<T>
-    private final ChangeListener<Boolean> selectionChange
-            = (obs, oldVal, newVal) -> selectedCount.set(selectedCount.get() + (newVal ? 1 : -1));
+    private ListView<T> optionsListView;
     @FXML
     private TextField listSearch;
 
@@ -68,72 +129,347 @@ public class SelectionController<T extends Comparable<? extends T>>
         allSelected.bind(selectedCount.greaterThanOrEqualTo(totalCount));
         bindValidProperty(nothingSelected.not());
 
-        ObservableList<CheckBox> listItems = FXCollections.observableArrayList();
-        FilteredList<CheckBox> filteredListItems = listItems.filtered(cb -> true);
-        optionsListView.itemsProperty().bind(new SimpleObjectProperty<>(filteredListItems));
-        optionsProperty.addListener((obs, oldVal, newVal) -> {
-            newVal.entrySet().stream()
-                    .filter(entry -> entry.getValue().isEmpty())
-                    .forEach(entry -> {
-                        CheckBox newItem = new CheckBox(entry.getKey().toString());
-                        newItem.selectedProperty().addListener(selectionChange);
-                        entry.setValue(Optional.of(newItem));
-                    });
-            listItems.setAll(newVal.values()
-                    .stream()
-                    .map(Optional::get)
-                    .sorted((c, d) -> c.getText().compareToIgnoreCase(d.getText()))
-                    .collect(Collectors.toList()));
-        });
+        optionsListView.itemsProperty().bind(listedOptions);
+        optionsListView.setCellFactory(listView -> new OptionCell());
         listSearch.textProperty()
                 .addListener((obs, oldVal, newVal) -> {
-                    filteredListItems.setPredicate(cb -> {
-                        String item = cb.getText();
-                        return item == null
-                                || item.isBlank()
-                                || item.toLowerCase(Locale.ROOT)
-                                .contains(newVal.toLowerCase(Locale.ROOT));
-                    });
+                    if (isWindowed()) {
+                        windowedOptions.setFilter(newVal);
+                    } else {
+                        shownOptions.setQuery(newVal);
+                    }
+                });
+        windowedOptions.totalSizeProperty()
+                .addListener((obs, oldVal, newVal) -> {
+                    if (isWindowed()) {
+                        totalCount.set(newVal.intValue());
+                    }
                 });
 
         HBox.setHgrow(optionsListView, Priority.ALWAYS);
     }
 
+    private boolean isShownOptionSelected(int shownIndex, @NotNull T option) {
+        return isWindowed() ? selectedOptions.contains(option) : selection.get(shownOptions.getSourceIndex(shownIndex));
+    }
+
+    private void setShownOptionSelected(int shownIndex, @NotNull T option, boolean selected) {
+        if (isWindowed()) {
+            if (selected ? selectedOptions.add(option) : selectedOptions.remove(option)) {
+                setSelectedCount(selectedOptions.size());
+            }
+        } else {
+            setOptionSelected(shownOptions.getSourceIndex(shownIndex), selected);
+        }
+    }
+
+    private void setOptionSelected(int sortedIndex, boolean selected) {
+        if (selection.get(sortedIndex) != selected) {
+            selection.set(sortedIndex, selected);
+            setSelectedCount(getSelectedCount() + (selected ? 1 : -1));
+        }
+    }
+
     /**
-     * Removes all options and replaces them with the new list of options.
+     * Updates the selected count as well as the visible rows after changing multiple bits of {@link #selection} at
+     * once.
+     */
+    private void setSelectedCount(int count) {
+        // Every change of the selection or of the options ends with updating the selected count
+        cachedResult = null;
+        selectedCount.set(count);
+    }
+
+    private void selectionChanged() {
+        setSelectedCount(selection.cardinality());
+        optionsListView.refresh();
+    }
+
+    /**
+     * Replaces the current options with the given ones. Options which are available before as well as afterwards
+     * stay selected or unselected. Only the removed and the added options are reported to the list of options.
      *
      * @param options The list of new options.
      */
     public void setOptions(@NotNull Set<T> options) {
-        optionsProperty.set(FXCollections.observableMap(
-                options.stream().collect(Collectors.toMap(op -> op, op -> Optional.empty()))));
+        cancelOptionLoading();
+        pendingSelection = Set.of();
+        Set<T> previouslySelected = Set.of();
+        if (isWindowed()) {
+            previouslySelected = new HashSet<>(selectedOptions);
+            windowedOptions.setProvider(null);
+            selectedOptions.clear();
+            listedOptions.set(shownOptions);
+            listSearch.setDisable(false);
+            windowed.set(false);
+        }
+        replaceSorted(OptionLists.sortKeyed(options, OPTION_SORT_KEY), previouslySelected);
+    }
+
+    /**
+     * Replaces {@link #sortedOptions} by merging the new options with the current ones in a single pass. The bits of
+     * {@link #selection} of the remaining options are moved accordingly.
+     *
+     * @param newSortedOptions The new options and their keys sorted by {@link #OPTION_SORT_KEY} without duplicates.
+     * @param preselected      The options to select if they are not available yet.
+     */
+    private void replaceSorted(@NotNull List<KeyedOption<T, CollationKey>> newSortedOptions,
+                               @NotNull Set<T> preselected) {
+        List<T> newOptions = new ArrayList<>(newSortedOptions.size());
+        List<CollationKey> newKeys = new ArrayList<>(newSortedOptions.size());
+        BitSet newSelection = new BitSet();
+        int[] previousToNew = new int[sortedOptions.size()];
+        Arrays.fill(previousToNew, -1);
+        int sortedIndex = 0;
+        for (int newIndex = 0; newIndex < newSortedOptions.size(); newIndex++) {
+            T option = newSortedOptions.get(newIndex).option();
+            CollationKey key = newSortedOptions.get(newIndex).key();
+            while (sortedIndex < sortedOptions.size() && sortedKeys.get(sortedIndex).compareTo(key) < 0) {
+                sortedIndex++;
+            }
+            boolean selected = preselected.contains(option);
+            // Only options which are ordered equally may be equal
+            for (int equalIndex = sortedIndex; equalIndex < sortedOptions.size()
+                    && sortedKeys.get(equalIndex).compareTo(key) == 0; equalIndex++) {
+                if (sortedOptions.get(equalIndex).equals(option)) {
+                    previousToNew[equalIndex] = newIndex;
+                    selected = selection.get(equalIndex);
+                    break;
+                }
+            }
+            newSelection.set(newIndex, selected);
+            newOptions.add(option);
+            newKeys.add(key);
+        }
+        selection = newSelection;
+        sortedOptions = newOptions;
+        sortedKeys = newKeys;
+        shownOptions.setOptions(newOptions, previousToNew);
+        totalCount.set(newSortedOptions.size());
+        setSelectedCount(selection.cardinality());
+    }
+
+    /**
+     * Adds the given options to the current ones. Options which are already available are ignored.
+     *
+     * @param options The options to add.
+     * @since 1.61
+     */
+    public void addOptions(@NotNull Collection<? extends T> options) {
+        if (!options.isEmpty()) {
+            insertSorted(OptionLists.sortKeyed(
+                    options instanceof Set ? options : new LinkedHashSet<>(options), OPTION_SORT_KEY));
+        }
+    }
+
+    /**
+     * Merges the given options into {@link #sortedOptions} and moves the bits of {@link #selection} accordingly.
+     *
+     * @param sortedAdditions The options to add and their keys sorted by {@link #OPTION_SORT_KEY} without duplicates.
+     */
+    private void insertSorted(@NotNull List<KeyedOption<T, CollationKey>> sortedAdditions) {
+        List<T> merged = new ArrayList<>(sortedOptions.size() + sortedAdditions.size());
+        List<CollationKey> mergedKeys = new ArrayList<>(sortedOptions.size() + sortedAdditions.size());
+        BitSet mergedSelection = new BitSet();
+        int[] previousToNew = new int[sortedOptions.size()];
+        int sortedIndex = 0;
+        for (KeyedOption<T, CollationKey> addition : sortedAdditions) {
+            while (sortedIndex < sortedOptions.size() && sortedKeys.get(sortedIndex).compareTo(addition.key()) < 0) {
+                mergedSelection.set(merged.size(), selection.get(sortedIndex));
+                previousToNew[sortedIndex] = merged.size();
+                merged.add(sortedOptions.get(sortedIndex));
+                mergedKeys.add(sortedKeys.get(sortedIndex));
+                sortedIndex++;
+            }
+            // Only options which are ordered equally may be equal
+            boolean available = false;
+            for (int equalIndex = sortedIndex; !available && equalIndex < sortedOptions.size()
+                    && sortedKeys.get(equalIndex).compareTo(addition.key()) == 0; equalIndex++) {
+                available = sortedOptions.get(equalIndex).equals(addition.option());
+            }
+            if (!available) {
+                mergedSelection.set(merged.size(), pendingSelection.contains(addition.option()));
+                merged.add(addition.option());
+                mergedKeys.add(addition.key());
+            }
+        }
+        for (; sortedIndex < sortedOptions.size(); sortedIndex++) {
+            mergedSelection.set(merged.size(), selection.get(sortedIndex));
+            previousToNew[sortedIndex] = merged.size();
+            merged.add(sortedOptions.get(sortedIndex));
+            mergedKeys.add(sortedKeys.get(sortedIndex));
+        }
+        selection = mergedSelection;
+        sortedOptions = merged;
+        sortedKeys = mergedKeys;
+        shownOptions.setOptions(merged, previousToNew);
+        totalCount.set(merged.size());
+        setSelectedCount(selection.cardinality());
+    }
+
+    /**
+     * Replaces all options with the options published by {@code optionBatches}. The options of each batch are shown
+     * as soon as the batch arrives and {@link #loadingProperty()} is {@code true} until the publisher completes.
+     * Batches arriving while previous ones are shown are merged at once (see {@link OptionBatchSubscriber}). Setting
+     * or loading options again cancels the subscription.
+     *
+     * @param optionBatches The publisher of the batches of options to show.
+     * @since 1.61
+     */
+    public void loadOptions(@NotNull Flow.Publisher<? extends Collection<? extends T>> optionBatches) {
+        setOptions(Set.of());
+        OptionBatchSubscriber<T> subscriber = new OptionBatchSubscriber<T>(this::addOptions, ex -> {
+            optionLoading = null;
+            pendingSelection = Set.of();
+            loading.set(false);
+            if (ex != null) {
+                LOGGER.log(Level.SEVERE, "Could not load all options", ex);
+            }
+        });
+        optionLoading = subscriber;
+        loading.set(true);
+        optionBatches.subscribe(subscriber);
+    }
+
+    /**
+     * Replaces all options with the options of {@code provider}. Only the options currently shown are fetched. The
+     * search is passed to the provider if it supports filtering and disabled otherwise. Options can not be selected
+     * all at once. Setting or loading options again leaves this mode.
+     *
+     * @param provider The provider of the options to show.
+     * @see #windowedProperty()
+     * @since 1.61
+     */
+    public void setDataProvider(@NotNull OptionDataProvider<T> provider) {
+        setOptions(Set.of());
+        windowed.set(true);
+        listSearch.setText("");
+        listSearch.setDisable(!provider.supportsFiltering());
+        listedOptions.set(windowedOptions);
+        windowedOptions.setProvider(provider);
+    }
+
+    private void cancelOptionLoading() {
+        if (optionLoading != null) {
+            optionLoading.cancel();
+            optionLoading = null;
+            loading.set(false);
+        }
+    }
+
+    /**
+     * Selects or deselects all options at once. The selected count changes only once.
+     *
+     * @param selected Whether to select or to deselect the options.
+     * @throws IllegalStateException If options of an {@link OptionDataProvider} should be selected.
+     * @since 1.61
+     */
+    public void setAllOptionsSelected(boolean selected) {
+        if (isWindowed()) {
+            if (selected) {
+                throw new IllegalStateException("Options of an OptionDataProvider can not be selected all at once");
+            }
+            selectedOptions.clear();
+        } else if (selected) {
+            selection.set(0, sortedOptions.size());
+        } else {
+            selection.clear();
+        }
+        setSelectedCount(selected ? sortedOptions.size() : 0);
+        optionsListView.refresh();
+    }
+
+    /**
+     * Selects or deselects all options matching the current search at once. The selected count changes only once.
+     *
+     * @param selected Whether to select or to deselect the options.
+     * @throws IllegalStateException If options of an {@link OptionDataProvider} should be selected.
+     * @since 1.61
+     */
+    public void setShownOptionsSelected(boolean selected) {
+        if (isWindowed() && !selected && !listSearch.getText().isEmpty()) {
+            String query = OptionSearchIndex.normalize(listSearch.getText());
+            selectedOptions.removeIf(option -> OptionSearchIndex.normalize(option.toString()).contains(query));
+            setSelectedCount(selectedOptions.size());
+            optionsListView.refresh();
+        } else if (isWindowed() || shownOptions.isShowingAll()) {
+            setAllOptionsSelected(selected);
+        } else {
+            int numChanged = 0;
+            for (int shownIndex = 0; shownIndex < shownOptions.size(); shownIndex++) {
+                int sortedIndex = shownOptions.getSourceIndex(shownIndex);
+                if (selection.get(sortedIndex) != selected) {
+                    selection.set(sortedIndex, selected);
+                    numChanged++;
+                }
+            }
+            if (numChanged > 0) {
+                setSelectedCount(getSelectedCount() + (selected ? numChanged : -numChanged));
+                optionsListView.refresh();
+            }
+        }
     }
 
     @FXML
     @SuppressWarnings("unused")
     private void selectAllOptions() {
-        optionsListView.getItems()
-                .forEach(cb -> Platform.runLater(() -> cb.setSelected(true)));
+        setShownOptionsSelected(true);
     }
 
     @FXML
     @SuppressWarnings("unused")
     private void selectNoOption() {
-        optionsListView.getItems()
-                .forEach(cb -> Platform.runLater(() -> cb.setSelected(false)));
+        setShownOptionsSelected(false);
     }
 
+    /**
+     * @return A new modifiable set of the selected options. Unless the options are provided by an
+     * {@link OptionDataProvider} the set is a copy-on-write {@link SelectionResult}. Until the selection or the options
+     * change all returned results share the selected positions. Hence calling this method again takes constant time.
+     */
     @Override
     protected Optional<Set<T>> calculateResult() {
-        Set<T> selection = new HashSet<>();
-        optionsProperty.forEach((option, checkbox) -> {
-            checkbox.ifPresent(c -> {
-                if (c.isSelected()) {
-                    selection.add(option);
-                }
-            });
-        });
-        return Optional.of(selection);
+        if (isWindowed()) {
+            return Optional.of(new HashSet<>(selectedOptions));
+        }
+        if (cachedResult == null) {
+            cachedResult = new SelectionResult<>(sortedOptions, OPTION_ORDER, selection);
+        }
+        return Optional.of(cachedResult.view());
+    }
+
+    /**
+     * @since 1.61
+     */
+    @NotNull
+    @Override
+    protected Optional<Set<T>> createSnapshot() {
+        return calculateResult();
+    }
+
+    /**
+     * @since 1.61
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void restoreSnapshot(@NotNull Object snapshot) {
+        Set<T> restoredSelection = (Set<T>) snapshot;
+        if (isWindowed()) {
+            selectedOptions.clear();
+            selectedOptions.addAll(restoredSelection);
+            setSelectedCount(selectedOptions.size());
+            optionsListView.refresh();
+            return;
+        }
+        if (isLoading()) {
+            // Options which are not loaded yet are selected as soon as they arrive
+            pendingSelection = restoredSelection;
+        }
+        selection.clear();
+        for (int sortedIndex = 0; sortedIndex < sortedOptions.size(); sortedIndex++) {
+            selection.set(sortedIndex, restoredSelection.contains(sortedOptions.get(sortedIndex)));
+        }
+        selectionChanged();
     }
 
     @NotNull
@@ -147,7 +483,7 @@ public class SelectionController<T extends Comparable<? extends T>>
 
     @NotNull
     public ReadOnlyIntegerProperty totalCountProperty() {
-        return totalCount;
+        return totalCount.getReadOnlyProperty();
     }
 
     public int getTotalCount() {
@@ -171,4 +507,76 @@ public class SelectionController<T extends Comparable<? extends T>>
     public boolean isAllSelected() {
         return allSelected.get();
     }
+
+    /**
+     * Whether options are currently loaded asynchronously.
+     *
+     * @see #loadOptions(Flow.Publisher)
+     * @since 1.61
+     */
+    @NotNull
+    public ReadOnlyBooleanProperty loadingProperty() {
+        return loading.getReadOnlyProperty();
+    }
+
+    /**
+     * @since 1.61
+     */
+    public boolean isLoading() {
+        return loading.get();
+    }
+
+    /**
+     * Whether the options are provided by an {@link OptionDataProvider}.
+     *
+     * @see #setDataProvider(OptionDataProvider)
+     * @since 1.61
+     */
+    @NotNull
+    public ReadOnlyBooleanProperty windowedProperty() {
+        return windowed.getReadOnlyProperty();
+    }
+
+    /**
+     * @since 1.61
+     */
+    public boolean isWindowed() {
+        return windowed.get();
+    }
+
+    /**
+     * Shows an option by a {@link CheckBox} which reflects whether the option is selected. The cell and its
+     * {@link CheckBox} are reused for whatever option becomes visible in its row.
+     */
+    private class OptionCell extends ListCell<T> {
+        private final CheckBox checkBox = new CheckBox();
+        /**
+         * Whether the state of {@link #checkBox} is currently updated to the state of the shown option.
+         */
+        private boolean updating;
+
+        OptionCell() {
+            checkBox.selectedProperty()
+                    .addListener((obs, wasSelected, isSelected) -> {
+                        if (!updating && !isEmpty()) {
+                            setShownOptionSelected(getIndex(), getItem(), isSelected);
+                        }
+                    });
+            setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+        }
+
+        @Override
+        protected void updateItem(T item, boolean empty) {
+            super.updateItem(item, empty);
+            if (empty || item == null) {
+                setGraphic(null);
+            } else {
+                updating = true;
+                checkBox.setText(item.toString());
+                checkBox.setSelected(isShownOptionSelected(getIndex(), item));
+                updating = false;
+                setGraphic(checkBox);
+            }
+        }
+    }
 }
@@ -4,10 +4,14 @@ import bayern.steinbrecher.wizard.StandaloneWizardPage;
 import com.google.common.collect.BiMap;
 import javafx.scene.paint.Color;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
 import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
@@ -21,7 +25,7 @@ import java.util.function.Supplier;
 public final class SelectionGroup<T extends Comparable<T>, G>
         extends StandaloneWizardPage<Optional<Map<T, G>>, SelectionGroupController<T, G>> {
 
-    private final Supplier<Set<T>> options;
+    private final Consumer<SelectionGroupController<T, G>> optionsLoader;
     private final Supplier<BiMap<G, Color>> groups;
 
     public SelectionGroup(Set<T> options, BiMap<G, Color> groups) {
@@ -32,14 +36,40 @@ public final class SelectionGroup<T extends Comparable<T>, G>
      * @since 1.55
      */
     public SelectionGroup(Supplier<Set<T>> options, Supplier<BiMap<G, Color>> groups) {
+        this((Consumer<SelectionGroupController<T, G>>) controller -> controller.setOptions(options.get()), groups);
+    }
+
+    /**
+     * Creates a page which is shown immediately and adds the published batches of options as soon as they arrive. The
+     * publisher is subscribed whenever the page is generated. Hence it has to support multiple subscriptions if the
+     * page may be unloaded (see {@link bayern.steinbrecher.wizard.Wizard#setMaxRetainedPages(int)}).
+     *
+     * @see SelectionGroupController#loadOptions(Flow.Publisher)
+     * @since 1.61
+     */
+    public SelectionGroup(Flow.Publisher<? extends Collection<? extends T>> optionBatches,
+                          Supplier<BiMap<G, Color>> groups) {
+        this((Consumer<SelectionGroupController<T, G>>) controller -> controller.loadOptions(optionBatches), groups);
+    }
+
+    /**
+     * Creates a page which is shown immediately and adds the options as soon as {@code options} completes.
+     *
+     * @since 1.61
+     */
+    public SelectionGroup(CompletionStage<? extends Set<T>> options, Supplier<BiMap<G, Color>> groups) {
+        this(new CompletionStagePublisher<T>(options), groups);
+    }
+
+    private SelectionGroup(Consumer<SelectionGroupController<T, G>> optionsLoader, Supplier<BiMap<G, Color>> groups) {
         super("SelectionGroup.fxml", ResourceBundle.getBundle("bayern.steinbrecher.wizard.pages.Selection"));
-        this.options = options;
+        this.optionsLoader = optionsLoader;
         this.groups = groups;
     }
 
     @Override
     protected void afterControllerInitialized() {
         getController().setGroups(groups.get());
-        getController().setOptions(options.get());
+        optionsLoader.accept(getController());
     }
 }
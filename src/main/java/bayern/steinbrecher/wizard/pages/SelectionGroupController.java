@@ -1,10 +1,12 @@
 package bayern.steinbrecher.wizard.pages;
 
-import bayern.steinbrecher.javaUtility.BindingUtility;
 import bayern.steinbrecher.wizard.StandaloneWizardPageController;
 import com.google.common.collect.BiMap;
+import com.google.common.collect.HashBiMap;
 import javafx.application.Platform;
-import javafx.beans.Observable;
+import javafx.beans.InvalidationListener;
+import javafx.beans.WeakInvalidationListener;
+import javafx.beans.binding.NumberBinding;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.MapProperty;
 import javafx.beans.property.ObjectProperty;
@@ -14,47 +16,54 @@ import javafx.beans.property.ReadOnlyIntegerProperty;
 import javafx.beans.property.ReadOnlyIntegerWrapper;
 import javafx.beans.property.ReadOnlyMapProperty;
 import javafx.beans.property.ReadOnlyMapWrapper;
-import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleMapProperty;
 import javafx.beans.property.SimpleObjectProperty;
-import javafx.beans.property.SimpleStringProperty;
-import javafx.beans.value.ObservableValue;
+import javafx.beans.value.ObservableNumberValue;
 import javafx.collections.FXCollections;
-import javafx.collections.ListChangeListener;
 import javafx.collections.MapChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.ObservableMap;
+import javafx.collections.transformation.FilteredList;
 import javafx.fxml.FXML;
-import javafx.geometry.Insets;
-import javafx.scene.Node;
 import javafx.scene.control.CheckBox;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.ContentDisplay;
 import javafx.scene.control.ListCell;
 import javafx.scene.control.ListView;
-import javafx.scene.control.RadioButton;
-import javafx.scene.control.ToggleGroup;
-import javafx.scene.layout.Background;
-import javafx.scene.layout.BackgroundFill;
-import javafx.scene.layout.CornerRadii;
-import javafx.scene.layout.HBox;
-import javafx.scene.layout.Priority;
-import javafx.scene.layout.Region;
-import javafx.scene.layout.VBox;
+import javafx.scene.control.TextField;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
-import javafx.util.Callback;
-
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.Consumer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
- * The controller of the SelectionGroup.
+ * The controller of the SelectionGroup. The options are kept sorted in a list and the group each option is associated
+ * with is stored in a parallel array of group slots. Each group occupies a slot whose number of associated options is
+ * kept in another array. Changes of associations are published once per operation instead of once per option.
  *
  * @param <T> The type of the options to select.
  * @param <G> The type of the groups to associate items with.
@@ -65,94 +74,94 @@ public class SelectionGroupController<T extends Comparable<T>, G>
         extends StandaloneWizardPageController<Optional<Map<T, G>>> {
 
     private static final Logger LOGGER = Logger.getLogger(SelectionGroupController.class.getName());
-    private final ObservableValue<ObservableList<AssociatedItem>> options
-            = new SimpleObjectProperty<>(
-                    FXCollections.observableArrayList(i -> new Observable[]{i.itemProperty(), i.groupProperty()}));
+    private static final String GROUP_STYLE_CLASS_PREFIX = "group-";
+    private static final int NO_GROUP = GroupAssignments.NO_GROUP;
+    /**
+     * The filter showing the options regardless of their associations.
+     */
+    private static final int ALL_OPTIONS = -2;
+    /**
+     * The options in their natural order. The list is replaced instead of being changed.
+     */
+    private List<T> sortedOptions = List.of();
+    private final SearchableOptionList<T> shownOptions = new SearchableOptionList<>();
+    /**
+     * The slot of the group each option of {@link #sortedOptions} is associated with.
+     */
+    private final GroupAssignments assignments = new GroupAssignments();
+    /**
+     * The group occupying each slot or {@code null} if the slot is free.
+     */
+    private final List<G> groupsBySlot = new ArrayList<>();
+    private final Map<G, Integer> slotsByGroup = new HashMap<>();
+    /**
+     * The slots listed by {@link #groupsListView} starting with {@link #NO_GROUP} followed by the slots of all groups
+     * in the order they were added.
+     */
+    private final ObservableList<Integer> listedSlots = FXCollections.observableArrayList(NO_GROUP);
+    private final FilteredList<Integer> shownSlots = new FilteredList<>(listedSlots);
+    /**
+     * The filters selectable by {@link #optionFilter}. Besides {@link #ALL_OPTIONS} these are {@link #NO_GROUP} for
+     * the options associated with no group and the slots of all groups for the options associated with them.
+     */
+    private final ObservableList<Integer> filterSlots = FXCollections.observableArrayList(ALL_OPTIONS, NO_GROUP);
+    private int optionFilterSlot = ALL_OPTIONS;
+    /**
+     * The slots whose count changed since the last call of {@link #publishChanges()}.
+     */
+    private final BitSet changedSlots = new BitSet();
+    /**
+     * Incremented by {@link #publishChanges()} such that the shown option cells update their associations in place
+     * instead of recreating all cells.
+     */
+    private final IntegerProperty associationsRevision = new SimpleIntegerProperty();
+    /**
+     * Incremented whenever groups are added, removed, renamed or recoloured such that the cells showing groups update
+     * in place.
+     */
+    private final IntegerProperty groupsRevision = new SimpleIntegerProperty();
     private final ReadOnlyIntegerWrapper totalCount = new ReadOnlyIntegerWrapper();
-    //FIXME Since the value should also be unique it should be something like a BiMapProperty.
-    private final MapProperty<G, Color> groups
-            = new SimpleMapProperty<>(FXCollections.observableHashMap());
+    /**
+     * Backs {@link #groups} such that no two groups share a colour.
+     */
+    private final BiMap<G, Color> groupColors = HashBiMap.create();
+    private final MapProperty<G, Color> groups = new SimpleMapProperty<>(FXCollections.observableMap(groupColors));
+    /**
+     * Whether {@link #groups} is currently changed by {@link #renameGroup(Object, Object)}.
+     */
+    private boolean renamingGroup;
     private final ObjectProperty<Optional<G>> currentGroup = new SimpleObjectProperty<>(Optional.empty());
     private final ReadOnlyBooleanWrapper currentGroupSelected = new ReadOnlyBooleanWrapper();
-    private final ReadOnlyMapWrapper<G, IntegerProperty> selectedPerGroup
+    private final ReadOnlyMapWrapper<G, ReadOnlyIntegerProperty> selectedPerGroup
             = new ReadOnlyMapWrapper<>(FXCollections.observableHashMap());
+    /**
+     * The number of options associated with the group of each slot or {@code null} if the slot is free. The values are
+     * updated in place by {@link #publishChanges()} and exposed read-only by {@link #selectedPerGroup}.
+     */
+    private final List<ReadOnlyIntegerWrapper> countsBySlot = new ArrayList<>();
     private final ReadOnlyIntegerWrapper selectedCount = new ReadOnlyIntegerWrapper(0);
+    private final NumberBinding unassignedCount = totalCount.subtract(selectedCount);
     private final ReadOnlyBooleanWrapper nothingSelected = new ReadOnlyBooleanWrapper(true);
     private final ReadOnlyBooleanWrapper allSelected = new ReadOnlyBooleanWrapper();
+    private final ReadOnlyBooleanWrapper loading = new ReadOnlyBooleanWrapper(false);
+    /**
+     * The subscriber receiving the options which are currently loaded asynchronously if any.
+     */
+    private OptionBatchSubscriber<T> optionLoading;
+    /**
+     * The groups to associate options with as soon as they are loaded.
+     */
+    private Map<T, G> pendingGroups = Map.of();
     @FXML
-    private ListView<AssociatedItem> optionsListView;
+    private ListView<T> optionsListView;
     @FXML
-    private ToggleGroup groupsToggleGroup;
+    private TextField optionSearch;
     @FXML
-    private VBox groupsBox;
-    private RadioButton unselectGroup;
-    private final Callback<ListView<AssociatedItem>, ListCell<AssociatedItem>> optionsCellFactory
-            = listview -> new ListCell<>() {
-
-        @Override
-        protected void updateItem(AssociatedItem item, boolean empty) {
-            super.updateItem(item, empty);
-            if (!empty && item != null) {
-                setText(item.getItem().toString());
-                Optional<G> newGroup = item.getGroup();
-
-                //TODO Spare creations of CheckBoxes
-                CheckBox groupGraphic = new CheckBox();
-                groupGraphic.setSelected(newGroup.isPresent());
-                Consumer<Boolean> updateGroupGraphic = selected -> {
-                    if (selected) {
-                        // Got selected
-                        item.setGroup(currentGroup.get());
-                    } else {
-                        if (currentGroup.get().equals(newGroup) || currentGroup.get().isEmpty()) {
-                            // Got deselected
-                            item.setGroup(Optional.empty());
-                        } else {
-                            /* Got deselected but has to reselected since the items current group differs from its
-                             * previous group
-                             */
-                            item.setGroup(currentGroup.get());
-                        }
-                    }
-                };
-                groupGraphic.selectedProperty()
-                        .addListener((obs, oldVal, newVal) -> {
-                            updateGroupGraphic.accept(newVal);
-                            updateItem(item, empty);
-                        });
-
-                if (newGroup.isPresent()) {
-                    Color fill = groups.get(newGroup.get());
-                    List<Region> boxes = groupGraphic.lookupAll(".box")
-                            .stream()
-                            // There should be only boxes (which are regions)
-                            .filter(node -> node instanceof Region)
-                            .map(node -> (Region) node)
-                            .collect(Collectors.toList());
-                    boxes.forEach(region -> region.setBackground(
-                            new Background(new BackgroundFill(fill, CornerRadii.EMPTY, Insets.EMPTY))));
-                    groupGraphic.getChildrenUnmodifiable()
-                            .addListener((ListChangeListener.Change<? extends Node> change) -> {
-                                while (change.next()) {
-                                    change.getAddedSubList()
-                                            .stream()
-                                            .filter(node -> node.getStyleClass().contains("box"))
-                                            .filter(node -> node instanceof Region)
-                                            .map(node -> (Region) node)
-                                            //CHECKSTYLE.OFF: MagicNumber - The range of RGB goes from 0 to 255
-                                            .forEach(region -> region.setStyle(
-                                                    String.format("-fx-background-color: rgba(%s, %s, %s, %s)",
-                                                            255 * fill.getRed(), 255 * fill.getGreen(),
-                                                            255 * fill.getBlue(), fill.getOpacity())));
-                                    //CHECKSTYLE.ON: MagicNumber
-                                }
-                            });
-                }
-                setGraphic(groupGraphic);
-                setOnMouseClicked(mevt -> updateGroupGraphic.accept(!groupGraphic.isSelected()));
-            }
-        }
-    };
+    private ComboBox<Integer> optionFilter;
+    @FXML
+    private ListView<Integer> groupsListView;
+    @FXML
+    private TextField groupSearch;
 
     @FXML
     @SuppressWarnings("unused")
@@ -162,131 +171,504 @@ public class SelectionGroupController<T extends Comparable<T>, G>
         allSelected.bind(selectedCount.greaterThanOrEqualTo(totalCount));
         currentGroup.addListener((obs, oldVal, newVal) -> currentGroupSelected.set(newVal.isPresent()));
 
-        optionsListView.itemsProperty().bind(options);
-        optionsListView.setCellFactory(optionsCellFactory);
-
-        unselectGroup = addGroupRadioButton(getResourceValue("deselect"), Optional.empty(), false);
-        selectedPerGroup.addListener((MapChangeListener.Change<? extends G, ? extends IntegerProperty> change)
-                -> selectedCount.bind(BindingUtility.reduceSum(selectedPerGroup.values().stream())));
+        optionsListView.itemsProperty().bind(new SimpleObjectProperty<>(shownOptions));
+        optionsListView.setCellFactory(listView -> new GroupedOptionCell());
+        optionSearch.textProperty()
+                .addListener((obs, oldVal, newVal) -> shownOptions.setQuery(newVal));
+        optionFilter.setItems(filterSlots);
+        optionFilter.setCellFactory(listView -> new FilterCell());
+        optionFilter.setButtonCell(new FilterCell());
+        optionFilter.setValue(ALL_OPTIONS);
+        optionFilter.valueProperty()
+                .addListener((obs, oldVal, newVal) -> {
+                    optionFilterSlot = newVal == null ? ALL_OPTIONS : newVal;
+                    applyOptionFilter();
+                });
+
+        groupsListView.setItems(shownSlots);
+        groupsListView.setCellFactory(listView -> new GroupCell());
+        groupsListView.getSelectionModel()
+                .selectedItemProperty()
+                .addListener((obs, oldVal, newVal) -> {
+                    // NOTE The current group is kept if it is only hidden by the search
+                    if (newVal != null) {
+                        // NOTE The group is looked up on selection since groups may be renamed
+                        currentGroup.set(newVal == NO_GROUP ? Optional.empty() : Optional.of(groupsBySlot.get(newVal)));
+                    }
+                });
+        groupsListView.getSelectionModel()
+                .select(Integer.valueOf(NO_GROUP));
+        groupSearch.textProperty()
+                .addListener((obs, oldVal, newVal) -> filterGroups(newVal));
 
         groups.addListener((MapChangeListener.Change<? extends G, ? extends Color> change) -> {
-            G group = change.getKey();
-            if (change.wasAdded()) {
-                selectedPerGroup.put(group, new SimpleIntegerProperty(0));
-                RadioButton groupRadioButton = addGroupRadioButton(
-                        change.getKey().toString(), Optional.of(group),
-                        groups.size() == 1); //NOPMD - Select the first added group
-            }
-            if (change.wasRemoved()) {
-                selectedPerGroup.remove(change.getKey());
-                // Remove RadioButton representing the group
-                Color removedColor = groups.get(group);
-                groupsToggleGroup.getToggles().stream()
-                        // Per construction Toggles are always Radiobuttons
-                        .filter(toggle -> toggle instanceof RadioButton)
-                        .map(toggle -> (RadioButton) toggle)
-                        .filter(radiobutton -> {
-                            Node graphic = radiobutton.getGraphic();
-                            // Per construction graphics are always Rectangles
-                            return graphic instanceof Rectangle && ((Rectangle) graphic).getFill().equals(removedColor);
-                        })
-                        // FIXME Without BiMapProperty the number of found radio buttons is not limited to 1.
-                        .findAny()
-                        .ifPresentOrElse(
-                                radiobutton -> {
-                                    if (radiobutton.isSelected()) {
-                                        unselectGroup.setSelected(true);
-                                    }
-                                    groupsToggleGroup.getToggles().remove(radiobutton);
-                                },
-                                () -> LOGGER.log(Level.WARNING, "Could not find the group radiobutton to remove."));
-
-                // Remove all associations of items with this group.
-                options.getValue().stream()
-                        .filter(ai -> ai.getGroup().equals(group))
-                        .forEach(ai -> ai.setGroup(Optional.empty()));
+            if (!renamingGroup) {
+                if (change.wasRemoved() && !change.wasAdded()) {
+                    removeGroup(change.getKey());
+                } else if (!change.wasRemoved()) {
+                    addGroup(change.getKey());
+                }
+                publishChanges();
+                updateGroupStylesheet();
+                incrementRevision(groupsRevision);
             }
         });
+    }
 
-        options.getValue().addListener((ListChangeListener.Change<? extends AssociatedItem> change) -> {
-            while (change.next()) {
-                totalCount.set(totalCount.get() + change.getAddedSize() - change.getRemovedSize());
-                change.getAddedSubList()
-                        .forEach(item ->
-                                item.groupProperty().addListener((obs, oldVal, newVal) -> {
-                                    oldVal.ifPresent(oldGroup -> {
-                                        IntegerProperty countProperty = selectedPerGroup.get(oldGroup);
-                                        countProperty.set(countProperty.get() - 1);
-                                    });
-                                    newVal.ifPresent(newGroup -> {
-                                        IntegerProperty countProperty = selectedPerGroup.get(newGroup);
-                                        countProperty.set(countProperty.get() + 1);
-                                    });
-                                }));
-            }
+    private void addGroup(G group) {
+        int slot = groupsBySlot.indexOf(null);
+        if (slot < 0) {
+            slot = groupsBySlot.size();
+            groupsBySlot.add(group);
+            countsBySlot.add(null);
+            assignments.ensureSlots(groupsBySlot.size());
+        } else {
+            groupsBySlot.set(slot, group);
+        }
+        slotsByGroup.put(group, slot);
+        ReadOnlyIntegerWrapper count = new ReadOnlyIntegerWrapper(0);
+        countsBySlot.set(slot, count);
+        selectedPerGroup.put(group, count.getReadOnlyProperty());
+        listedSlots.add(slot);
+        filterSlots.add(slot);
+        if (groups.size() == 1) { //NOPMD - Select the first added group
+            selectSlot(slot);
+        }
+    }
+
+    /**
+     * Removes the group, its entry in {@link #groupsListView} and its associations. Only the options associated with
+     * the group are visited.
+     */
+    private void removeGroup(G group) {
+        // NOTE The groups are compared since the slot of the current group is unknown as soon as it is released
+        if (currentGroup.get().equals(Optional.of(group))) {
+            selectSlot(NO_GROUP);
+        }
+        int slot = slotsByGroup.remove(group);
+        listedSlots.remove(Integer.valueOf(slot));
+        if (optionFilterSlot == slot) {
+            optionFilter.setValue(ALL_OPTIONS);
+        }
+        filterSlots.remove(Integer.valueOf(slot));
+        for (int position : assignments.membersOf(slot)) {
+            associate(position, NO_GROUP);
+        }
+        groupsBySlot.set(slot, null);
+        countsBySlot.set(slot, null);
+        changedSlots.clear(slot);
+        selectedPerGroup.remove(group);
+    }
+
+    /**
+     * Replaces a group with another one which keeps the colour and all associations of the replaced group. Only the
+     * entry of the group in the list of groups is updated.
+     *
+     * @param group    The group to replace.
+     * @param newGroup The group to replace it with.
+     * @throws IllegalArgumentException If {@code group} is unknown or {@code newGroup} exists already.
+     * @since 1.61
+     */
+    public void renameGroup(G group, G newGroup) {
+        if (!slotsByGroup.containsKey(group)) {
+            throw new IllegalArgumentException("Unknown group " + group);
+        }
+        if (slotsByGroup.containsKey(newGroup)) {
+            throw new IllegalArgumentException("There is already a group " + newGroup);
+        }
+        int slot = slotsByGroup.remove(group);
+        slotsByGroup.put(newGroup, slot);
+        groupsBySlot.set(slot, newGroup);
+        selectedPerGroup.put(newGroup, selectedPerGroup.remove(group));
+        if (currentGroup.get().equals(Optional.of(group))) {
+            currentGroup.set(Optional.of(newGroup));
+        }
+        renamingGroup = true;
+        try {
+            groups.put(newGroup, groups.remove(group));
+        } finally {
+            renamingGroup = false;
+        }
+        filterGroups(groupSearch.getText());
+        incrementRevision(groupsRevision);
+    }
+
+    /**
+     * Shows only the groups whose names contain the query ignoring case. The entry for removing associations is always
+     * shown.
+     */
+    private void filterGroups(String query) {
+        String normalizedQuery = OptionSearchIndex.normalize(query);
+        shownSlots.setPredicate(slot -> slot == NO_GROUP
+                || OptionSearchIndex.normalize(groupsBySlot.get(slot).toString()).contains(normalizedQuery));
+        // NOTE Filtering out the selected entry clears the selection but not the current group
+        int currentSlot = getCurrentGroupSlot();
+        if (shownSlots.contains(currentSlot)) {
+            selectSlot(currentSlot);
+        }
+    }
+
+    /**
+     * Shows only the options whose associations match the selected filter. The filter reflects the associations at the
+     * time it is applied. Hence options do not disappear while their associations are changed.
+     */
+    private void applyOptionFilter() {
+        shownOptions.setRestriction(optionFilterSlot == ALL_OPTIONS ? null : assignments.positionsOf(optionFilterSlot));
+    }
+
+    private void selectSlot(int slot) {
+        groupsListView.getSelectionModel()
+                .select(Integer.valueOf(slot));
+    }
+
+    /**
+     * Replaces the stylesheet of {@link #optionsListView} with one that defines the colour of the style class of each
+     * group slot.
+     */
+    private void updateGroupStylesheet() {
+        StringBuilder stylesheet = new StringBuilder();
+        slotsByGroup.forEach((group, slot) -> {
+            Color fill = groups.get(group);
+            //CHECKSTYLE.OFF: MagicNumber - The range of RGB goes from 0 to 255
+            stylesheet.append(String.format(Locale.ROOT,
+                    ".check-box.%s%d > .box { -fx-background-color: rgba(%d, %d, %d, %s); }%n",
+                    GROUP_STYLE_CLASS_PREFIX, slot,
+                    Math.round(255 * fill.getRed()), Math.round(255 * fill.getGreen()),
+                    Math.round(255 * fill.getBlue()), fill.getOpacity()));
+            //CHECKSTYLE.ON: MagicNumber
         });
-        totalCount.set(options.getValue().size());
-
-        HBox.setHgrow(optionsListView, Priority.ALWAYS);
-    }
-
-    private RadioButton addGroupRadioButton(String text, Optional<G> group, boolean setSelected) {
-        RadioButton radioButton = new RadioButton(text);
-        radioButton.textProperty().bind(new SimpleStringProperty(text).concat(" (")
-                .concat(group.isPresent() ? selectedPerGroup.get(group.get()) : totalCount.subtract(selectedCount))
-                .concat(")"));
-        double fontSize = radioButton.getFont().getSize();
-        radioButton.setGraphic(new Rectangle(
-                fontSize, fontSize, group.isPresent() ? groups.get(group.get()) : Color.TRANSPARENT));
-        radioButton.setToggleGroup(groupsToggleGroup);
-        radioButton.selectedProperty().addListener((obs, oldVal, newVal) -> {
-            if (newVal) {
-                currentGroup.set(group);
+        optionsListView.getStylesheets()
+                .setAll("data:text/css;base64," + Base64.getEncoder()
+                        .encodeToString(stylesheet.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * @return The slot of the current group or {@link #NO_GROUP} if there is none.
+     */
+    private int getCurrentGroupSlot() {
+        return currentGroup.get()
+                .map(slotsByGroup::get)
+                .orElse(NO_GROUP);
+    }
+
+    /**
+     * Associates the option with the group in the given slot. The change is published by the next call of
+     * {@link #publishChanges()}.
+     *
+     * @param position The position of the option within {@link #sortedOptions}.
+     * @param slot     The slot of the group to associate the option with or {@link #NO_GROUP}.
+     */
+    private void associate(int position, int slot) {
+        int previousSlot = assignments.assign(position, slot);
+        if (previousSlot != slot) {
+            if (previousSlot != NO_GROUP) {
+                changedSlots.set(previousSlot);
             }
-        });
-        radioButton.setSelected(setSelected);
-        groupsBox.getChildren().add(radioButton);
-        return radioButton;
+            if (slot != NO_GROUP) {
+                changedSlots.set(slot);
+            }
+        }
+    }
+
+    /**
+     * Updates the counts of all groups whose associations changed, the selected count and the shown options. Each count
+     * changes at most once per call. Only the cells showing a changed count or a changed association are updated.
+     */
+    private void publishChanges() {
+        changedSlots.stream()
+                .forEach(slot -> countsBySlot.get(slot).set(assignments.count(slot)));
+        changedSlots.clear();
+        selectedCount.set(assignments.countAssigned());
+        incrementRevision(associationsRevision);
+    }
+
+    private static void incrementRevision(IntegerProperty revision) {
+        // NOTE Reading the revision validates it such that the next change notifies invalidation listeners again
+        revision.set(revision.get() + 1);
+    }
+
+    /**
+     * Associates the option with the current group if it is not associated with it yet. Otherwise the association is
+     * removed.
+     *
+     * @param position The position of the option within {@link #sortedOptions}.
+     */
+    private void toggleAssociation(int position) {
+        int slot = assignments.getSlot(position);
+        int currentSlot = getCurrentGroupSlot();
+        if (slot == NO_GROUP || (currentSlot != NO_GROUP && currentSlot != slot)) {
+            associate(position, currentSlot);
+        } else {
+            associate(position, NO_GROUP);
+        }
+        publishChanges();
     }
 
     @FXML
     @SuppressWarnings("unused")
     private void selectAllOptions() {
-        options.getValue()
-                .parallelStream()
-                .forEach(option ->
-                        Platform.runLater(() -> {
-                            if (!option.isAssociated()) {
-                                option.setGroup(currentGroup.get());
-                            }
-                        }));
+        int currentSlot = getCurrentGroupSlot();
+        for (int position = 0; position < assignments.size(); position++) {
+            if (assignments.getSlot(position) == NO_GROUP) {
+                associate(position, currentSlot);
+            }
+        }
+        publishChanges();
     }
 
     @FXML
     @SuppressWarnings("unused")
     private void selectNoOption() {
-        options.getValue()
-                .parallelStream()
-                .forEach(option -> Platform.runLater(() -> option.setGroup(Optional.empty())));
+        associateAll(Optional.empty());
+    }
+
+    /**
+     * @return The slot of the given group or {@link #NO_GROUP} if it is empty.
+     * @throws IllegalArgumentException If the group is unknown.
+     */
+    private int requireSlot(Optional<G> group) {
+        int slot = group.map(this::slotOf)
+                .orElse(NO_GROUP);
+        if (group.isPresent() && slot == NO_GROUP) {
+            throw new IllegalArgumentException("Unknown group " + group.get());
+        }
+        return slot;
+    }
+
+    /**
+     * Associates all options with the given group at once.
+     *
+     * @param group The group to associate the options with. {@link Optional#empty()} removes all associations.
+     * @throws IllegalArgumentException If the group is unknown.
+     * @since 1.61
+     */
+    public void associateAll(Optional<G> group) {
+        int slot = requireSlot(group);
+        if (slot == NO_GROUP) {
+            for (int groupSlot : slotsByGroup.values()) {
+                for (int position : assignments.membersOf(groupSlot)) {
+                    associate(position, NO_GROUP);
+                }
+            }
+        } else {
+            for (int position = 0; position < assignments.size(); position++) {
+                associate(position, slot);
+            }
+        }
+        publishChanges();
+    }
+
+    /**
+     * Associates the options at the given positions of their natural order with the given group at once.
+     *
+     * @param group     The group to associate the options with. {@link Optional#empty()} removes the associations.
+     * @param fromIndex The position of the first option to associate.
+     * @param toIndex   The position after the last option to associate.
+     * @throws IllegalArgumentException  If the group is unknown.
+     * @throws IndexOutOfBoundsException If the range exceeds the options.
+     * @since 1.61
+     */
+    public void associateRange(Optional<G> group, int fromIndex, int toIndex) {
+        int slot = requireSlot(group);
+        Objects.checkFromToIndex(fromIndex, toIndex, assignments.size());
+        for (int position = fromIndex; position < toIndex; position++) {
+            associate(position, slot);
+        }
+        publishChanges();
+    }
+
+    /**
+     * Associates all options matching the predicate with the given group. The predicate is evaluated in parallel on
+     * background threads. Afterwards all matching options are associated at once on the JavaFX application thread. If
+     * the options change in the meantime the predicate is evaluated again.
+     *
+     * @param group     The group to associate the options with. {@link Optional#empty()} removes the associations.
+     * @param predicate The predicate selecting the options to associate. It has to be thread safe.
+     * @return The number of options which matched the predicate and were associated.
+     * @throws IllegalArgumentException If the group is unknown.
+     * @since 1.61
+     */
+    public CompletionStage<Integer> associateMatching(Optional<G> group, Predicate<? super T> predicate) {
+        requireSlot(group);
+        List<T> evaluatedOptions = sortedOptions;
+        return CompletableFuture.supplyAsync(() -> IntStream.range(0, evaluatedOptions.size())
+                        .parallel()
+                        .filter(position -> predicate.test(evaluatedOptions.get(position)))
+                        .toArray())
+                .thenComposeAsync(matchingPositions -> {
+                    if (evaluatedOptions != sortedOptions) {
+                        return associateMatching(group, predicate);
+                    }
+                    // NOTE The group may have been removed in the meantime
+                    int slot = requireSlot(group);
+                    for (int position : matchingPositions) {
+                        associate(position, slot);
+                    }
+                    publishChanges();
+                    return CompletableFuture.completedFuture(matchingPositions.length);
+                }, Platform::runLater);
     }
 
     @Override
     protected Optional<Map<T, G>> calculateResult() {
-        Map<T, G> selection = options.getValue().stream()
-                .filter(entry -> entry.getGroup().isPresent())
-                .collect(Collectors.toMap(AssociatedItem::getItem, entry -> entry.getGroup().get()));
+        Map<T, G> selection = new HashMap<>();
+        slotsByGroup.forEach((group, slot) -> {
+            for (int position : assignments.membersOf(slot)) {
+                selection.put(sortedOptions.get(position), group);
+            }
+        });
         return Optional.of(selection);
     }
 
+    /**
+     * The snapshot contains the current groups as well since they may have been renamed or changed otherwise since the
+     * page was created.
+     *
+     * @since 1.61
+     */
+    @Override
+    protected Optional<?> createSnapshot() {
+        return Optional.of(new GroupSnapshot<>(HashBiMap.create(groupColors), calculateResult().orElseThrow()));
+    }
+
+    /**
+     * @since 1.61
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void restoreSnapshot(@NotNull Object snapshot) {
+        GroupSnapshot<T, G> groupSnapshot = (GroupSnapshot<T, G>) snapshot;
+        setGroups(groupSnapshot.groups());
+        Map<T, G> selection = groupSnapshot.associations();
+        if (isLoading()) {
+            // Options which are not loaded yet are associated as soon as they arrive
+            pendingGroups = selection;
+        }
+        for (int position = 0; position < assignments.size(); position++) {
+            associate(position, slotOf(selection.get(sortedOptions.get(position))));
+        }
+        publishChanges();
+    }
+
+    /**
+     * @return The slot of the given group or {@link #NO_GROUP} if the group is {@code null} or unknown.
+     */
+    private int slotOf(G group) {
+        Integer slot = group == null ? null : slotsByGroup.get(group);
+        return slot == null ? NO_GROUP : slot;
+    }
+
     public void setOptions(Set<T> options) {
-        this.options.getValue().clear();
-        options.stream().sorted().forEach(o -> this.options.getValue().add(new AssociatedItem(o)));
+        cancelOptionLoading();
+        pendingGroups = Map.of();
+        sortedOptions = List.of();
+        assignments.reset(new int[0]);
+        slotsByGroup.values().forEach(changedSlots::set);
+        shownOptions.setOptions(sortedOptions, null);
+        // NOTE Replacing the options drops any restriction of the shown options
+        if (optionFilterSlot != ALL_OPTIONS) {
+            applyOptionFilter();
+        }
+        totalCount.set(0);
+        addOptions(options);
+        publishChanges();
+    }
+
+    /**
+     * Adds the given options to the current ones. Options which are already available are ignored.
+     *
+     * @param options The options to add.
+     * @since 1.61
+     */
+    public void addOptions(Collection<? extends T> options) {
+        if (!options.isEmpty()) {
+            insertSorted(OptionLists.sortByKey(
+                    options instanceof Set ? options : new LinkedHashSet<>(options), Function.<T>identity()));
+            publishChanges();
+        }
+    }
+
+    /**
+     * Merges the given options into {@link #sortedOptions} and moves the associations of {@link #assignments}
+     * accordingly. Added options are associated with their group in {@link #pendingGroups} if any.
+     *
+     * @param sortedAdditions The options to add in their natural order without duplicates.
+     */
+    private void insertSorted(List<T> sortedAdditions) {
+        List<T> merged = new ArrayList<>(sortedOptions.size() + sortedAdditions.size());
+        int[] mergedGroupSlots = new int[sortedOptions.size() + sortedAdditions.size()];
+        int[] previousToNew = new int[sortedOptions.size()];
+        int sortedIndex = 0;
+        for (T addition : sortedAdditions) {
+            while (sortedIndex < sortedOptions.size() && sortedOptions.get(sortedIndex).compareTo(addition) < 0) {
+                mergedGroupSlots[merged.size()] = assignments.getSlot(sortedIndex);
+                previousToNew[sortedIndex] = merged.size();
+                merged.add(sortedOptions.get(sortedIndex));
+                sortedIndex++;
+            }
+            // Only options which are ordered equally may be equal
+            boolean available = false;
+            for (int equalIndex = sortedIndex; !available && equalIndex < sortedOptions.size()
+                    && sortedOptions.get(equalIndex).compareTo(addition) == 0; equalIndex++) {
+                available = sortedOptions.get(equalIndex).equals(addition);
+            }
+            if (!available) {
+                int slot = slotOf(pendingGroups.get(addition));
+                if (slot != NO_GROUP) {
+                    changedSlots.set(slot);
+                }
+                mergedGroupSlots[merged.size()] = slot;
+                merged.add(addition);
+            }
+        }
+        for (; sortedIndex < sortedOptions.size(); sortedIndex++) {
+            mergedGroupSlots[merged.size()] = assignments.getSlot(sortedIndex);
+            previousToNew[sortedIndex] = merged.size();
+            merged.add(sortedOptions.get(sortedIndex));
+        }
+        sortedOptions = merged;
+        assignments.reset(Arrays.copyOf(mergedGroupSlots, merged.size()));
+        shownOptions.setOptions(merged, previousToNew);
+        if (optionFilterSlot != ALL_OPTIONS) {
+            applyOptionFilter();
+        }
+        totalCount.set(merged.size());
+    }
+
+    /**
+     * Replaces all options with the options published by {@code optionBatches}. The options of each batch are shown
+     * as soon as the batch arrives and {@link #loadingProperty()} is {@code true} until the publisher completes.
+     * Batches arriving while previous ones are shown are merged at once (see {@link OptionBatchSubscriber}). Setting
+     * or loading options again cancels the subscription.
+     *
+     * @param optionBatches The publisher of the batches of options to show.
+     * @since 1.61
+     */
+    public void loadOptions(Flow.Publisher<? extends Collection<? extends T>> optionBatches) {
+        setOptions(Set.of());
+        OptionBatchSubscriber<T> subscriber = new OptionBatchSubscriber<T>(this::addOptions, ex -> {
+            optionLoading = null;
+            pendingGroups = Map.of();
+            loading.set(false);
+            if (ex != null) {
+                LOGGER.log(Level.SEVERE, "Could not load all options", ex);
+            }
+        });
+        optionLoading = subscriber;
+        loading.set(true);
+        optionBatches.subscribe(subscriber);
+    }
+
+    private void cancelOptionLoading() {
+        if (optionLoading != null) {
+            optionLoading.cancel();
+            optionLoading = null;
+            loading.set(false);
+        }
     }
 
     public Set<T> getOptions() {
-        return options.getValue().stream()
-                .map(AssociatedItem::getItem)
-                .collect(Collectors.toSet());
+        return new HashSet<>(sortedOptions);
     }
 
     public void setGroups(BiMap<G, Color> groups) {
@@ -347,47 +729,185 @@ public class SelectionGroupController<T extends Comparable<T>, G>
     }
 
     /**
-     * Represents a relation between an option to select and an group it is associated with.
+     * Whether options are currently loaded asynchronously.
+     *
+     * @see #loadOptions(Flow.Publisher)
+     * @since 1.61
      */
-    private class AssociatedItem {
+    public ReadOnlyBooleanProperty loadingProperty() {
+        return loading.getReadOnlyProperty();
+    }
 
-        private final ObjectProperty<T> item = new SimpleObjectProperty<>();
-        private final ObjectProperty<Optional<G>> group = new SimpleObjectProperty<>(Optional.empty());
+    /**
+     * @since 1.61
+     */
+    public boolean isLoading() {
+        return loading.get();
+    }
 
-        AssociatedItem(T item) {
-            this.item.set(item);
-        }
+    /**
+     * @param groups       The groups and their colours at the time the snapshot was created.
+     * @param associations The groups the options were associated with.
+     */
+    private record GroupSnapshot<T, G>(BiMap<G, Color> groups, Map<T, G> associations) {
+    }
 
-        public ReadOnlyObjectProperty<T> itemProperty() {
-            return item;
-        }
+    /**
+     * Shows an option by a {@link CheckBox} coloured like the group the option is associated with. The cell and its
+     * {@link CheckBox} are reused for whatever option becomes visible in its row. Firing the {@link CheckBox} by mouse
+     * or keyboard toggles the association of the option with the current group.
+     */
+    private class GroupedOptionCell extends ListCell<T> {
+        private final CheckBox groupGraphic = new CheckBox();
+        private final InvalidationListener associationsListener = obs -> showAssociation();
+        /**
+         * The slot {@link #groupGraphic} is currently coloured like or {@link #NO_GROUP} if none.
+         */
+        private int shownSlot = NO_GROUP;
 
-        public T getItem() {
-            return itemProperty().get();
+        GroupedOptionCell() {
+            groupGraphic.setOnAction(aevt -> {
+                if (!isEmpty()) {
+                    toggleAssociation(shownOptions.getSourceIndex(getIndex()));
+                }
+            });
+            setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+            associationsRevision.addListener(new WeakInvalidationListener(associationsListener));
         }
 
-        public ObjectProperty<Optional<G>> groupProperty() {
-            return group;
+        @Override
+        protected void updateItem(T item, boolean empty) {
+            super.updateItem(item, empty);
+            if (empty || item == null) {
+                setGraphic(null);
+            } else {
+                groupGraphic.setText(item.toString());
+                showAssociation();
+                setGraphic(groupGraphic);
+            }
         }
 
-        public Optional<G> getGroup() {
-            return groupProperty().get();
+        /**
+         * Updates {@link #groupGraphic} to the current association of the shown option. The {@link CheckBox} is updated
+         * even if the association did not change since firing it changes its state.
+         */
+        private void showAssociation() {
+            // NOTE If the shown options changed the cell may not have received its new item yet
+            if (!isEmpty() && getItem() != null && getIndex() < shownOptions.size()) {
+                int slot = assignments.getSlot(shownOptions.getSourceIndex(getIndex()));
+                groupGraphic.setSelected(slot != NO_GROUP);
+                if (slot != shownSlot) {
+                    if (shownSlot != NO_GROUP) {
+                        groupGraphic.getStyleClass().remove(GROUP_STYLE_CLASS_PREFIX + shownSlot);
+                    }
+                    if (slot != NO_GROUP) {
+                        groupGraphic.getStyleClass().add(GROUP_STYLE_CLASS_PREFIX + slot);
+                    }
+                    shownSlot = slot;
+                }
+            }
         }
+    }
 
+    /**
+     * Shows a group slot by the colour, the name and the number of associated options of its group. The cell observes
+     * only the count of its slot and is updated in place whenever the count or the groups change.
+     */
+    private class GroupCell extends ListCell<Integer> {
+        private final Rectangle colourGraphic = new Rectangle();
+        private final InvalidationListener countListener = obs -> showGroup();
+        private final InvalidationListener weakCountListener = new WeakInvalidationListener(countListener);
+        private final InvalidationListener groupsListener = obs -> {
+            observeCount();
+            showGroup();
+        };
         /**
-         * Changes the group this item is currently associated with.
-         *
-         * @param group The group this item is currently associated with. {@link Optional#empty()} signals that this
-         *              item not associated with any group.
+         * The count of the shown slot or {@code null} if the cell is empty or shows a removed group.
          */
-        public void setGroup(Optional<G> group) {
-            if (group.isEmpty() || getGroups().contains(group.get())) {
-                this.group.set(group);
+        private ObservableNumberValue observedCount;
+
+        GroupCell() {
+            double fontSize = getFont().getSize();
+            colourGraphic.setWidth(fontSize);
+            colourGraphic.setHeight(fontSize);
+            groupsRevision.addListener(new WeakInvalidationListener(groupsListener));
+        }
+
+        @Override
+        protected void updateItem(Integer slot, boolean empty) {
+            super.updateItem(slot, empty);
+            observeCount();
+            showGroup();
+        }
+
+        private void observeCount() {
+            if (observedCount != null) {
+                observedCount.removeListener(weakCountListener);
+            }
+            Integer slot = getItem();
+            if (isEmpty() || slot == null) {
+                observedCount = null;
+            } else {
+                // NOTE The slot may belong to a removed group until the cell receives its new item
+                observedCount = slot == NO_GROUP ? unassignedCount : countsBySlot.get(slot);
+                if (observedCount != null) {
+                    observedCount.addListener(weakCountListener);
+                }
             }
         }
 
-        public boolean isAssociated() {
-            return group.get().isPresent();
+        private void showGroup() {
+            Integer slot = getItem();
+            if (observedCount == null) {
+                setText(null);
+                setGraphic(null);
+            } else {
+                String name;
+                if (slot == NO_GROUP) {
+                    name = getResourceValue("deselect");
+                    colourGraphic.setFill(Color.TRANSPARENT);
+                } else {
+                    G group = groupsBySlot.get(slot);
+                    name = group.toString();
+                    colourGraphic.setFill(groups.get(group));
+                }
+                // NOTE Reading the count validates it such that its next change notifies the cell again
+                setText(name + " (" + observedCount.intValue() + ")");
+                setGraphic(colourGraphic);
+            }
+        }
+    }
+
+    /**
+     * Shows which options a filter of {@link #optionFilter} shows. The cell is updated in place whenever the groups
+     * change. Hence the button cell of {@link #optionFilter} shows renamed groups as well.
+     */
+    private class FilterCell extends ListCell<Integer> {
+        private final InvalidationListener groupsListener = obs -> showFilter();
+
+        FilterCell() {
+            groupsRevision.addListener(new WeakInvalidationListener(groupsListener));
+        }
+
+        @Override
+        protected void updateItem(Integer slot, boolean empty) {
+            super.updateItem(slot, empty);
+            showFilter();
+        }
+
+        private void showFilter() {
+            Integer slot = getItem();
+            if (isEmpty() || slot == null) {
+                setText(null);
+            } else if (slot == ALL_OPTIONS) {
+                setText(getResourceValue("allOptions"));
+            } else if (slot == NO_GROUP) {
+                setText(getResourceValue("unassigned"));
+            } else {
+                // NOTE The slot may belong to a removed group until the cell receives its new item
+                G group = groupsBySlot.get(slot);
+                setText(group == null ? null : group.toString());
+            }
         }
     }
 }
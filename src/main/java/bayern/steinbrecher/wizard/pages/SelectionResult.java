@@ -0,0 +1,167 @@
+package bayern.steinbrecher.wizard.pages;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The options selected in a {@link Selection}. The result is a set backed by the sorted options and a snapshot of the
+ * positions of the selected ones. Its size is known in constant time, {@link #contains(Object)} searches the sorted
+ * options binary and iterating does not copy any options. The set is modifiable but copy-on-write. The first
+ * modification copies the selected options into a {@link HashSet} which backs this set afterwards. Hence modifications
+ * never affect the selection or other results of the same selection.
+ *
+ * @param <T> The type of the selected options.
+ * @author Stefan Huber
+ * @since 1.61
+ */
+public final class SelectionResult<T> extends AbstractSet<T> {
+
+    private final List<T> sortedOptions;
+    private final Comparator<Object> order;
+    private final BitSet selection;
+    private final int size;
+    /**
+     * The copy of the selected options backing this set after its first modification or {@code null} if it was not
+     * modified yet.
+     */
+    private Set<T> modifiedOptions;
+
+    /**
+     * @param sortedOptions The options sorted according to {@code order}. The list must not be changed afterwards.
+     * @param order         The order of the options.
+     * @param selection     The positions of the selected options within {@code sortedOptions}.
+     */
+    SelectionResult(@NotNull List<T> sortedOptions, @NotNull Comparator<Object> order, @NotNull BitSet selection) {
+        this(sortedOptions, order, (BitSet) selection.clone(), selection.cardinality());
+    }
+
+    private SelectionResult(@NotNull List<T> sortedOptions, @NotNull Comparator<Object> order,
+                            @NotNull BitSet selection, int size) {
+        this.sortedOptions = sortedOptions;
+        this.order = order;
+        this.selection = selection;
+        this.size = size;
+    }
+
+    /**
+     * @return A new result containing the options selected when this result was created. It shares the sorted options
+     * and the selected positions with this result. Hence creating it takes constant time. Modifications of either
+     * result do not affect the other one.
+     */
+    @NotNull
+    SelectionResult<T> view() {
+        return new SelectionResult<>(sortedOptions, order, selection, size);
+    }
+
+    @NotNull
+    private Set<T> modifiableOptions() {
+        if (modifiedOptions == null) {
+            modifiedOptions = toSet();
+        }
+        return modifiedOptions;
+    }
+
+    @NotNull
+    @Override
+    public Iterator<T> iterator() {
+        if (modifiedOptions != null) {
+            return modifiedOptions.iterator();
+        }
+        return new Iterator<>() {
+            private int nextPosition = selection.nextSetBit(0);
+            private T lastOption;
+            private boolean removable;
+
+            @Override
+            public boolean hasNext() {
+                return nextPosition >= 0;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                lastOption = sortedOptions.get(nextPosition);
+                removable = true;
+                nextPosition = selection.nextSetBit(nextPosition + 1);
+                return lastOption;
+            }
+
+            @Override
+            public void remove() {
+                if (!removable) {
+                    throw new IllegalStateException();
+                }
+                removable = false;
+                // NOTE The iteration continues over the unchanged positions whereas the copy loses the option
+                modifiableOptions().remove(lastOption);
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return modifiedOptions == null ? size : modifiedOptions.size();
+    }
+
+    @Override
+    public boolean add(T option) {
+        return modifiableOptions().add(option);
+    }
+
+    @Override
+    public boolean remove(Object object) {
+        return modifiableOptions().remove(object);
+    }
+
+    @Override
+    public void clear() {
+        modifiedOptions = new HashSet<>();
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        if (modifiedOptions != null) {
+            return modifiedOptions.contains(object);
+        }
+        if (object == null || size == 0) {
+            return false;
+        }
+        int position = Collections.binarySearch(sortedOptions, object, order);
+        if (position < 0) {
+            return false;
+        }
+        // Only options which are ordered equally may be equal
+        for (int equalPosition = position;
+             equalPosition >= 0 && order.compare(sortedOptions.get(equalPosition), object) == 0; equalPosition--) {
+            if (sortedOptions.get(equalPosition).equals(object)) {
+                return selection.get(equalPosition);
+            }
+        }
+        for (int equalPosition = position + 1; equalPosition < sortedOptions.size()
+                && order.compare(sortedOptions.get(equalPosition), object) == 0; equalPosition++) {
+            if (sortedOptions.get(equalPosition).equals(object)) {
+                return selection.get(equalPosition);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return A modifiable copy of this set which is independent of the options of the selection.
+     */
+    @NotNull
+    public Set<T> toSet() {
+        return new HashSet<>(modifiedOptions == null ? this : modifiedOptions);
+    }
+}
@@ -0,0 +1,28 @@
+package bayern.steinbrecher.wizard.pages;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded whenever a {@link TablePageController} exports its content.
+ *
+ * @author Stefan Huber
+ * @since 1.61
+ */
+@Name("bayern.steinbrecher.wizard.pages.TableExport")
+@Label("Table Export")
+@Category({"Wizard"})
+@Description("Export of the content of a table page into a CSV file")
+final class TableExportEvent extends Event {
+    @Label("Controller Class")
+    Class<?> controllerClass;
+    @Label("Rows")
+    int rows;
+    @Label("Columns")
+    int columns;
+    @Label("Path")
+    String path;
+}
@@ -81,19 +81,73 @@ public class TablePageController extends StandaloneWizardPageController<Optional
     private void export() throws IOException {
         final File savePath = CSV_SAVE_PATH.showSaveDialog(getStage());
         if (savePath != null) {
-            List<List<String>> contents = new ArrayList<>();
-            contents.add(getHeadings());
-            contents.addAll(getResults());
+            TableExportEvent exportEvent = new TableExportEvent();
+            exportEvent.begin();
+            List<List<String>> contents = collectContents();
             IOUtility.writeCSV(Path.of(savePath.toURI()), contents, CSVFormat.EXCEL);
+            if (exportEvent.shouldCommit()) {
+                exportEvent.controllerClass = getClass();
+                exportEvent.rows = contents.size() - 1;
+                exportEvent.columns = getHeadings().size();
+                exportEvent.path = savePath.getPath();
+                exportEvent.commit();
+            }
         }
     }
 
+    /**
+     * @return The headings followed by the content of the table sorted as the content is currently sorted in the
+     * table view.
+     */
+    @NotNull
+    private List<List<String>> collectContents() {
+        List<List<String>> contents = new ArrayList<>();
+        contents.add(getHeadings());
+        contents.addAll(getResults());
+        return contents;
+    }
+
     @NotNull
     @Override
     protected Optional<Void> calculateResult() {
         return Optional.empty();
     }
 
+    /**
+     * The snapshot contains only the sort order of the table since the contents are set again by the page.
+     *
+     * @since 1.61
+     */
+    @NotNull
+    @Override
+    protected Optional<List<ColumnSortState>> createSnapshot() {
+        return Optional.of(
+                resultView.getSortOrder()
+                        .stream()
+                        .map(column -> new ColumnSortState(
+                                resultView.getColumns().indexOf(column), column.getSortType()))
+                        .toList()
+        );
+    }
+
+    /**
+     * @since 1.61
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void restoreSnapshot(@NotNull Object snapshot) {
+        List<TableColumn<List<String>, ?>> sortOrder = new ArrayList<>();
+        for (ColumnSortState sortState : (List<ColumnSortState>) snapshot) {
+            if (sortState.columnIndex() >= 0 && sortState.columnIndex() < resultView.getColumns().size()) {
+                TableColumn<List<String>, ?> column = resultView.getColumns().get(sortState.columnIndex());
+                column.setSortType(sortState.sortType());
+                sortOrder.add(column);
+            }
+        }
+        resultView.getSortOrder()
+                .setAll(sortOrder);
+    }
+
     @NotNull
     public ReadOnlyObjectProperty<List<String>> headingsProperty() {
         return headings.getReadOnlyProperty();
@@ -145,4 +199,11 @@ public class TablePageController extends StandaloneWizardPageController<Optional
     public boolean isEmpty() {
         return emptyProperty().get();
     }
+
+    /**
+     * @param columnIndex The index of a column the table is sorted by.
+     * @param sortType    The direction the column is sorted in.
+     */
+    private record ColumnSortState(int columnIndex, @NotNull TableColumn.SortType sortType) {
+    }
 }
@@ -0,0 +1,184 @@
+package bayern.steinbrecher.wizard.pages;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import javafx.collections.ObservableListBase;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A read-only {@link javafx.collections.ObservableList} over the options of an {@link OptionDataProvider}. The options
+ * are fetched in pages on a background thread as soon as any of them is requested. Until a page arrives its options
+ * are {@code null}. Only a bounded number of recently used pages is kept. Instances must only be used on the JavaFX
+ * application thread.
+ *
+ * @param <E> The type of the options.
+ * @author Stefan Huber
+ * @since 1.61
+ */
+final class WindowedOptionList<E> extends ObservableListBase<E> {
+
+    private static final Logger LOGGER = Logger.getLogger(WindowedOptionList.class.getName());
+    private static final int PAGE_SIZE = 256;
+    private static final int MAX_CACHED_PAGES = 32;
+    private static final Executor FETCH_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "wizard-option-fetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private OptionDataProvider<? extends E> provider;
+    private String filter = "";
+    private int size;
+    private final ReadOnlyIntegerWrapper totalSize = new ReadOnlyIntegerWrapper(this, "totalSize", 0);
+    private final Map<Integer, List<E>> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<E>> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+    /**
+     * The pages which are currently fetched or could not be fetched.
+     */
+    private final Set<Integer> requestedPages = new HashSet<>();
+    /**
+     * Identifies the provider and filter which fetched options have to belong to.
+     */
+    private int generation;
+
+    /**
+     * Shows all options of the given provider.
+     *
+     * @param provider The provider of the options or {@code null} for showing no options.
+     */
+    void setProvider(@Nullable OptionDataProvider<? extends E> provider) {
+        this.provider = provider;
+        filter = "";
+        totalSize.set(0);
+        reload();
+    }
+
+    /**
+     * Shows only the options matching the given filter. Has no effect if the provider does not support filtering.
+     *
+     * @see OptionDataProvider#supportsFiltering()
+     */
+    void setFilter(@NotNull String filter) {
+        if (provider != null && provider.supportsFiltering() && !filter.equals(this.filter)) {
+            this.filter = Objects.requireNonNull(filter);
+            reload();
+        }
+    }
+
+    private void reload() {
+        generation++;
+        pages.clear();
+        requestedPages.clear();
+        resize(0);
+        if (provider != null) {
+            int reloadGeneration = generation;
+            OptionDataProvider<? extends E> countedProvider = provider;
+            String countedFilter = filter;
+            CompletableFuture.supplyAsync(() -> countedProvider.count(countedFilter), FETCH_EXECUTOR)
+                    .whenComplete((count, ex) -> Platform.runLater(() -> {
+                        if (reloadGeneration == generation) {
+                            if (ex == null) {
+                                resize(count);
+                                if (countedFilter.isEmpty()) {
+                                    totalSize.set(count);
+                                }
+                            } else {
+                                LOGGER.log(Level.SEVERE, "Could not count the options", ex);
+                            }
+                        }
+                    }));
+        }
+    }
+
+    private void resize(int newSize) {
+        int oldSize = size;
+        size = newSize;
+        beginChange();
+        if (oldSize > 0) {
+            nextRemove(0, Collections.nCopies(oldSize, null));
+        }
+        if (newSize > 0) {
+            nextAdd(0, newSize);
+        }
+        endChange();
+    }
+
+    private void requestPage(int page) {
+        if (requestedPages.add(page)) {
+            int requestGeneration = generation;
+            OptionDataProvider<? extends E> fetchingProvider = provider;
+            String fetchedFilter = filter;
+            int offset = page * PAGE_SIZE;
+            int limit = Math.min(PAGE_SIZE, size - offset);
+            CompletableFuture.supplyAsync(
+                            () -> (List<E>) new ArrayList<E>(fetchingProvider.fetch(fetchedFilter, offset, limit)),
+                            FETCH_EXECUTOR)
+                    .whenComplete((options, ex) -> Platform.runLater(() -> {
+                        if (requestGeneration == generation) {
+                            if (ex == null) {
+                                requestedPages.remove(page);
+                                pages.put(page, options);
+                                beginChange();
+                                for (int index = offset; index < offset + limit; index++) {
+                                    nextSet(index, null);
+                                }
+                                endChange();
+                            } else {
+                                // NOTE The page stays requested such that it is not fetched again on every layout
+                                LOGGER.log(Level.SEVERE, "Could not fetch options", ex);
+                            }
+                        }
+                    }));
+        }
+    }
+
+    /**
+     * @return The option at the given position or {@code null} if it was not fetched yet.
+     */
+    @Override
+    @Nullable
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        int page = index / PAGE_SIZE;
+        List<E> options = pages.get(page);
+        if (options == null) {
+            requestPage(page);
+            return null;
+        }
+        int offsetInPage = index % PAGE_SIZE;
+        return offsetInPage < options.size() ? options.get(offsetInPage) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The number of all options of the provider ignoring the filter.
+     */
+    @NotNull
+    ReadOnlyIntegerProperty totalSizeProperty() {
+        return totalSize.getReadOnlyProperty();
+    }
+}
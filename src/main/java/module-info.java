@@ -1,11 +1,11 @@
 module bayern.steinbrecher.GenericWizard {
     requires bayern.steinbrecher.Utility;
     requires com.google.common;
-    requires java.desktop;
     requires java.logging;
     requires javafx.controls;
     requires javafx.fxml;
     requires javafx.graphics;
+    requires jdk.jfr;
     requires org.jetbrains.annotations;
 
     exports bayern.steinbrecher.wizard;
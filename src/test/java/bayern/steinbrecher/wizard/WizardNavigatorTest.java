@@ -0,0 +1,246 @@
+package bayern.steinbrecher.wizard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Stefan Huber
+ * @since 1.61
+ */
+class WizardNavigatorTest {
+
+    private final Map<String, TestPage> pages = new HashMap<>();
+    private final List<String> pageChanges = new ArrayList<>();
+    private final List<WizardState> stateChanges = new ArrayList<>();
+    private WizardNavigator<TestPage> navigator;
+
+    /**
+     * Creates the chain {@code first -> second -> third} where {@code third} is the last page.
+     */
+    @BeforeEach
+    void setUp() {
+        pages.put(WizardPage.FIRST_PAGE_KEY, new TestPage("second"));
+        pages.put("second", new TestPage("third"));
+        pages.put("third", new TestPage(null));
+        navigator = new WizardNavigator<>();
+        navigator.addNavigationListener((previousKey, currentKey, direction)
+                -> pageChanges.add(previousKey + "->" + currentKey + ":" + direction));
+        navigator.addStateListener(stateChanges::add);
+        navigator.setPages(pages);
+    }
+
+    @Test
+    void startsAtFirstPage() {
+        assertEquals(WizardPage.FIRST_PAGE_KEY, navigator.getCurrentKey());
+        assertEquals(List.of(WizardPage.FIRST_PAGE_KEY), navigator.getHistory());
+        assertEquals(List.of("null->first:NONE"), pageChanges);
+        assertTrue(navigator.isAtBeginning());
+        assertFalse(navigator.canGoPrevious());
+        assertEquals(WizardState.RUNNING, navigator.getState());
+    }
+
+    @Test
+    void withoutFirstPageThereIsNoCurrentPage() {
+        WizardNavigator<TestPage> emptyNavigator = new WizardNavigator<>();
+        assertNull(emptyNavigator.getCurrentKey());
+        assertNull(emptyNavigator.getCurrentPage());
+        assertFalse(emptyNavigator.canGoNext());
+        assertThrows(IllegalArgumentException.class,
+                () -> emptyNavigator.setPages(Map.of("second", new TestPage(null))));
+    }
+
+    @Test
+    void forwardAndPrevious() {
+        assertEquals("second", navigator.next());
+        assertEquals("third", navigator.next());
+        assertEquals(List.of(WizardPage.FIRST_PAGE_KEY, "second", "third"), navigator.getHistory());
+        assertFalse(navigator.canGoNext());
+        assertThrows(IllegalStateException.class, navigator::next);
+
+        assertEquals("second", navigator.previous());
+        assertEquals(WizardPage.FIRST_PAGE_KEY, navigator.previous());
+        assertThrows(IllegalStateException.class, navigator::previous);
+        assertEquals(List.of("null->first:NONE", "first->second:FORWARD", "second->third:FORWARD",
+                "third->second:BACKWARD", "second->first:BACKWARD"), pageChanges);
+    }
+
+    @Test
+    void invalidPageDoesNotAllowNext() {
+        pages.get(WizardPage.FIRST_PAGE_KEY).valid = false;
+        assertFalse(navigator.canGoNext());
+        assertThrows(IllegalStateException.class, navigator::next);
+        assertEquals(WizardPage.FIRST_PAGE_KEY, navigator.getCurrentKey());
+    }
+
+    @Test
+    void forwardToUnknownPageThrows() {
+        assertThrows(PageNotFoundException.class, () -> navigator.forward("unknown"));
+        assertEquals(List.of(WizardPage.FIRST_PAGE_KEY), navigator.getHistory());
+    }
+
+    @Test
+    void nextFunctionReturningUnknownPageThrows() {
+        pages.put(WizardPage.FIRST_PAGE_KEY, new TestPage("unknown"));
+        navigator.setPages(pages);
+        assertThrows(PageNotFoundException.class, navigator::next);
+        assertEquals(List.of(WizardPage.FIRST_PAGE_KEY), navigator.getHistory());
+    }
+
+    @Test
+    void finishOnlyAtLastValidPage() {
+        assertFalse(navigator.canFinish());
+        assertThrows(IllegalStateException.class, navigator::finish);
+        navigator.next();
+        navigator.next();
+        pages.get("third").valid = false;
+        assertFalse(navigator.canFinish());
+        pages.get("third").valid = true;
+        assertTrue(navigator.isAtFinish());
+        assertTrue(navigator.canFinish());
+
+        navigator.finish();
+        assertEquals(WizardState.FINISHED, navigator.getState());
+        assertEquals(List.of(WizardState.FINISHED), stateChanges);
+        assertFalse(navigator.canGoPrevious());
+        assertFalse(navigator.canFinish());
+        assertThrows(IllegalStateException.class, () -> navigator.forward("second"));
+    }
+
+    @Test
+    void cancelAbortsOnlyRunningWizard() {
+        navigator.cancel();
+        assertEquals(WizardState.ABORTED, navigator.getState());
+        assertFalse(navigator.canGoNext());
+        navigator.cancel();
+        assertEquals(List.of(WizardState.ABORTED), stateChanges);
+    }
+
+    @Test
+    void resetReturnsToFirstPageAndRuns() {
+        navigator.next();
+        navigator.cancel();
+        pageChanges.clear();
+
+        navigator.reset();
+        assertEquals(WizardState.RUNNING, navigator.getState());
+        assertEquals(List.of(WizardState.ABORTED, WizardState.RUNNING), stateChanges);
+        assertEquals(List.of(WizardPage.FIRST_PAGE_KEY), navigator.getHistory());
+        assertEquals(List.of("second->first:NONE"), pageChanges);
+        assertTrue(navigator.canGoNext());
+    }
+
+    @Test
+    void setPagesKeepsHistoryOfUnchangedPages() {
+        navigator.next();
+        navigator.next();
+        pageChanges.clear();
+
+        navigator.setPages(new HashMap<>(pages));
+        assertEquals(List.of(WizardPage.FIRST_PAGE_KEY, "second", "third"), navigator.getHistory());
+        assertTrue(pageChanges.isEmpty());
+    }
+
+    @Test
+    void setPagesTruncatesHistoryFromFirstReplacedPage() {
+        navigator.next();
+        navigator.next();
+        pageChanges.clear();
+
+        Map<String, TestPage> replacedPages = new HashMap<>(pages);
+        replacedPages.put("second", new TestPage("third"));
+        navigator.setPages(replacedPages);
+        assertEquals(List.of(WizardPage.FIRST_PAGE_KEY), navigator.getHistory());
+        assertEquals(List.of("third->first:BACKWARD"), pageChanges);
+    }
+
+    @Test
+    void setPagesWithReplacedFirstPageRestarts() {
+        navigator.next();
+        pageChanges.clear();
+
+        Map<String, TestPage> replacedPages = new HashMap<>(pages);
+        replacedPages.put(WizardPage.FIRST_PAGE_KEY, new TestPage("second"));
+        navigator.setPages(replacedPages);
+        assertEquals(List.of(WizardPage.FIRST_PAGE_KEY), navigator.getHistory());
+        assertEquals(List.of("second->first:NONE"), pageChanges);
+    }
+
+    @Test
+    void updatePagesTruncatesHistoryFromRemovedPage() {
+        navigator.next();
+        navigator.next();
+        pageChanges.clear();
+
+        navigator.updatePages(Map.of(), List.of("third"));
+        assertEquals(List.of(WizardPage.FIRST_PAGE_KEY, "second"), navigator.getHistory());
+        assertEquals(List.of("third->second:BACKWARD"), pageChanges);
+        assertNull(navigator.getPage("third"));
+        assertThrows(PageNotFoundException.class, () -> navigator.forward("third"));
+    }
+
+    @Test
+    void updatePagesKeepsHistoryForUnvisitedOrSamePages() {
+        navigator.next();
+        pageChanges.clear();
+
+        navigator.updatePages(Map.of("second", pages.get("second"), "fourth", new TestPage(null)), List.of("third"));
+        assertEquals(List.of(WizardPage.FIRST_PAGE_KEY, "second"), navigator.getHistory());
+        assertTrue(pageChanges.isEmpty());
+        navigator.forward("fourth");
+        assertEquals("fourth", navigator.getCurrentKey());
+    }
+
+    @Test
+    void updatePagesTruncatesHistoryFromReplacedPage() {
+        navigator.next();
+        navigator.next();
+        pageChanges.clear();
+
+        navigator.updatePages(Map.of("second", new TestPage("third")), List.of());
+        assertEquals(List.of(WizardPage.FIRST_PAGE_KEY), navigator.getHistory());
+        assertEquals(List.of("third->first:BACKWARD"), pageChanges);
+    }
+
+    @Test
+    void updatePagesCanNotRemoveFirstPage() {
+        assertThrows(IllegalArgumentException.class,
+                () -> navigator.updatePages(Map.of(), List.of(WizardPage.FIRST_PAGE_KEY)));
+        assertEquals(pages.get(WizardPage.FIRST_PAGE_KEY), navigator.getPage(WizardPage.FIRST_PAGE_KEY));
+    }
+
+    private static final class TestPage implements WizardPageDescriptor {
+        private final Supplier<String> nextFunction;
+        private boolean valid = true;
+
+        TestPage(String nextKey) {
+            nextFunction = nextKey == null ? null : () -> nextKey;
+        }
+
+        @Override
+        public boolean isFinish() {
+            return nextFunction == null;
+        }
+
+        @Override
+        public Supplier<String> getNextFunction() {
+            return nextFunction;
+        }
+
+        @Override
+        public boolean isValid() {
+            return valid;
+        }
+    }
+}
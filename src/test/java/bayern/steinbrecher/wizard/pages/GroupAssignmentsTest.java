@@ -0,0 +1,108 @@
+package bayern.steinbrecher.wizard.pages;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Stefan Huber
+ * @since 1.61
+ */
+class GroupAssignmentsTest {
+
+    private static final int NO_GROUP = GroupAssignments.NO_GROUP;
+
+    /**
+     * Checks all queries of {@code assignments} against the expected slot of each position.
+     */
+    private static void assertAssignments(int[] expectedSlots, int numSlots, GroupAssignments assignments) {
+        assertEquals(expectedSlots.length, assignments.size());
+        for (int position = 0; position < expectedSlots.length; position++) {
+            assertEquals(expectedSlots[position], assignments.getSlot(position));
+        }
+        assertEquals((int) Arrays.stream(expectedSlots).filter(slot -> slot != NO_GROUP).count(),
+                assignments.countAssigned());
+        for (int slot = NO_GROUP; slot < numSlots; slot++) {
+            int currentSlot = slot;
+            int[] expectedPositions = IntStream.range(0, expectedSlots.length)
+                    .filter(position -> expectedSlots[position] == currentSlot)
+                    .toArray();
+            assertArrayEquals(expectedPositions, assignments.positionsOf(slot));
+            if (slot != NO_GROUP) {
+                assertEquals(expectedPositions.length, assignments.count(slot));
+                int[] members = assignments.membersOf(slot);
+                Arrays.sort(members);
+                assertArrayEquals(expectedPositions, members);
+            }
+        }
+    }
+
+    @Test
+    void assignReturnsPreviousSlot() {
+        GroupAssignments assignments = new GroupAssignments();
+        assignments.ensureSlots(2);
+        assignments.reset(new int[]{NO_GROUP, 1, 0});
+        assertEquals(NO_GROUP, assignments.assign(0, 1));
+        assertEquals(1, assignments.assign(0, 0));
+        assertEquals(0, assignments.assign(0, 0));
+        assertEquals(0, assignments.assign(0, NO_GROUP));
+        assertAssignments(new int[]{NO_GROUP, 1, 0}, 2, assignments);
+    }
+
+    @Test
+    void randomAssignmentsKeepMembersConsistent() {
+        Random random = new Random(11);
+        int numSlots = 5;
+        int[] expectedSlots = new int[300];
+        Arrays.fill(expectedSlots, NO_GROUP);
+        GroupAssignments assignments = new GroupAssignments();
+        assignments.ensureSlots(numSlots);
+        assignments.reset(expectedSlots);
+        for (int i = 0; i < 20_000; i++) {
+            int position = random.nextInt(expectedSlots.length);
+            int slot = random.nextInt(numSlots + 1) - 1;
+            assertEquals(expectedSlots[position], assignments.assign(position, slot));
+            expectedSlots[position] = slot;
+            if (i % 1000 == 0) {
+                assertAssignments(expectedSlots, numSlots, assignments);
+            }
+        }
+        assertAssignments(expectedSlots, numSlots, assignments);
+    }
+
+    @Test
+    void resetReplacesAllAssignments() {
+        GroupAssignments assignments = new GroupAssignments();
+        assignments.ensureSlots(3);
+        assignments.reset(new int[]{0, 0, 1, 2, NO_GROUP});
+        int[] slots = {2, NO_GROUP, 2};
+        assignments.reset(slots);
+        slots[0] = 0;
+        assertAssignments(new int[]{2, NO_GROUP, 2}, 3, assignments);
+    }
+
+    @Test
+    void slotsCanBeAddedAndReused() {
+        GroupAssignments assignments = new GroupAssignments();
+        assignments.ensureSlots(1);
+        assignments.reset(new int[]{0, 0, NO_GROUP, NO_GROUP});
+        assignments.ensureSlots(3);
+        assignments.assign(2, 2);
+        assertAssignments(new int[]{0, 0, 2, NO_GROUP}, 3, assignments);
+
+        // Free slot 0 and reuse it for another group
+        for (int position : assignments.membersOf(0)) {
+            assignments.assign(position, NO_GROUP);
+        }
+        assertEquals(0, assignments.count(0));
+        assignments.assign(3, 0);
+        assertAssignments(new int[]{NO_GROUP, NO_GROUP, 2, 0}, 3, assignments);
+        assertEquals(0, assignments.count(7));
+        assertArrayEquals(new int[0], assignments.membersOf(7));
+    }
+}
@@ -0,0 +1,140 @@
+package bayern.steinbrecher.wizard.pages;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Stefan Huber
+ * @since 1.61
+ */
+class OptionSearchIndexTest {
+
+    private static final String ALPHABET = "abcAB ";
+
+    private static List<String> createRandomOptions(Random random, int numOptions) {
+        List<String> options = new ArrayList<>(numOptions);
+        for (int i = 0; i < numOptions; i++) {
+            StringBuilder option = new StringBuilder();
+            int length = random.nextInt(9);
+            for (int j = 0; j < length; j++) {
+                option.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            options.add(option.toString());
+        }
+        return options;
+    }
+
+    /**
+     * Searches the options without any index.
+     */
+    private static int[] searchLinearly(List<?> options, String query, int[] candidates) {
+        String normalizedQuery = OptionSearchIndex.normalize(query);
+        IntStream scope = candidates == null ? IntStream.range(0, options.size()) : IntStream.of(candidates);
+        return scope.filter(position -> {
+                    String text = options.get(position).toString();
+                    return text == null || text.isBlank()
+                            || OptionSearchIndex.normalize(text).contains(normalizedQuery);
+                })
+                .toArray();
+    }
+
+    @Test
+    void searchMatchesLinearSearch() {
+        Random random = new Random(42);
+        List<String> options = createRandomOptions(random, 2000);
+        OptionSearchIndex index = OptionSearchIndex.build(options, () -> false);
+        for (String query : List.of("", "a", "B", "ab", "abc", "ABC", "a b", "cab", "bab", "aaaa", "abcab", "xyz")) {
+            assertArrayEquals(searchLinearly(options, query, null), index.search(query, null, () -> false), query);
+        }
+        for (int i = 0; i < 200; i++) {
+            String query = createRandomOptions(random, 1).get(0);
+            assertArrayEquals(searchLinearly(options, query, null), index.search(query, null, () -> false), query);
+        }
+    }
+
+    @Test
+    void narrowingPreviousMatchesFindsSameMatches() {
+        List<String> options = createRandomOptions(new Random(7), 2000);
+        OptionSearchIndex index = OptionSearchIndex.build(options, () -> false);
+        String query = "";
+        int[] previousMatches = null;
+        for (char appended : "abcab".toCharArray()) {
+            query += appended;
+            int[] matches = index.search(query, previousMatches, () -> false);
+            assertArrayEquals(searchLinearly(options, query, null), matches, query);
+            previousMatches = matches;
+        }
+    }
+
+    @Test
+    void restrictionLimitsMatchesOfAnyQueryLength() {
+        Random random = new Random(5);
+        List<String> options = createRandomOptions(random, 2000);
+        OptionSearchIndex index = OptionSearchIndex.build(options, () -> false);
+        int[] restriction = IntStream.range(0, options.size())
+                .filter(position -> random.nextInt(4) == 0)
+                .toArray();
+        for (String query : List.of("", "a", "ab", "abc", "b a", "abca")) {
+            int[] matches = index.search(query, restriction, () -> false);
+            assertArrayEquals(searchLinearly(options, query, restriction), matches, query);
+        }
+        assertArrayEquals(new int[0], index.search("abc", new int[0], () -> false));
+    }
+
+    @Test
+    void updatedIndexMatchesRebuiltIndex() {
+        Random random = new Random(11);
+        List<String> previousOptions = createRandomOptions(random, 1000);
+        OptionSearchIndex index = OptionSearchIndex.build(previousOptions, () -> false);
+        // Remove some options and insert new ones in between the remaining ones
+        List<String> options = new ArrayList<>();
+        int[] previousToNew = new int[previousOptions.size()];
+        for (int previousPosition = 0; previousPosition < previousOptions.size(); previousPosition++) {
+            options.addAll(createRandomOptions(random, random.nextInt(3)));
+            if (random.nextInt(5) == 0) {
+                previousToNew[previousPosition] = -1;
+            } else {
+                previousToNew[previousPosition] = options.size();
+                options.add(previousOptions.get(previousPosition));
+            }
+        }
+        OptionSearchIndex updatedIndex = index.update(options, previousToNew, () -> false);
+        for (String query : List.of("", "a", "B", "ab", "abc", "ABC", "a b", "cab", "bab", "abcab", "xyz")) {
+            assertArrayEquals(searchLinearly(options, query, null), updatedIndex.search(query, null, () -> false),
+                    query);
+        }
+        assertThrows(CancellationException.class, () -> index.update(options, previousToNew, () -> true));
+    }
+
+    @Test
+    void nullAndBlankTextsMatchAnyQuery() {
+        Object withoutText = new Object() {
+            @Override
+            public String toString() {
+                return null;
+            }
+        };
+        List<Object> options = List.of("abcd", withoutText, " ", "bcde", "");
+        OptionSearchIndex index = OptionSearchIndex.build(options, () -> false);
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, index.search("", null, () -> false));
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, index.search("bc", null, () -> false));
+        assertArrayEquals(new int[]{0, 1, 2, 4}, index.search("abc", null, () -> false));
+        assertArrayEquals(new int[]{1, 2, 4}, index.search("xyz", null, () -> false));
+    }
+
+    @Test
+    void cancelledBuildAndSearchThrow() {
+        List<String> options = createRandomOptions(new Random(1), 100);
+        assertThrows(CancellationException.class, () -> OptionSearchIndex.build(options, () -> true));
+        OptionSearchIndex index = OptionSearchIndex.build(options, () -> false);
+        assertThrows(CancellationException.class, () -> index.search("ab", null, () -> true));
+    }
+}
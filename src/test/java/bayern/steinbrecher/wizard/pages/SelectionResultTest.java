@@ -0,0 +1,139 @@
+package bayern.steinbrecher.wizard.pages;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Stefan Huber
+ * @since 1.61
+ */
+class SelectionResultTest {
+
+    private static final Comparator<Object> IGNORING_CASE
+            = (optionA, optionB) -> optionA.toString().compareToIgnoreCase(optionB.toString());
+    /**
+     * Sorted ignoring case such that equally ordered options which are not equal are adjacent.
+     */
+    private static final List<String> SORTED_OPTIONS = List.of("a", "A", "b", "c", "C", "d", "D", "e");
+
+    private static BitSet bitsOf(int... positions) {
+        BitSet bits = new BitSet();
+        for (int position : positions) {
+            bits.set(position);
+        }
+        return bits;
+    }
+
+    @Test
+    void containsOnlySelectedOptions() {
+        SelectionResult<String> result = new SelectionResult<>(SORTED_OPTIONS, IGNORING_CASE, bitsOf(1, 3, 5, 7));
+        assertEquals(4, result.size());
+        assertTrue(result.contains("A"));
+        assertFalse(result.contains("a"));
+        assertTrue(result.contains("c"));
+        assertFalse(result.contains("C"));
+        assertTrue(result.contains("d"));
+        assertFalse(result.contains("D"));
+        assertTrue(result.contains("e"));
+        assertFalse(result.contains("b"));
+        assertFalse(result.contains("f"));
+        assertFalse(result.contains("E"));
+        assertFalse(result.contains(null));
+    }
+
+    @Test
+    void iteratesSelectedOptionsInOrder() {
+        SelectionResult<String> result = new SelectionResult<>(SORTED_OPTIONS, IGNORING_CASE, bitsOf(0, 1, 4, 7));
+        assertEquals(List.of("a", "A", "C", "e"), new ArrayList<>(result));
+        Iterator<String> iterator = new SelectionResult<>(SORTED_OPTIONS, IGNORING_CASE, new BitSet()).iterator();
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    void isIndependentOfLaterSelectionChanges() {
+        BitSet selection = bitsOf(2);
+        SelectionResult<String> result = new SelectionResult<>(SORTED_OPTIONS, IGNORING_CASE, selection);
+        selection.set(3);
+        assertEquals(Set.of("b"), result);
+    }
+
+    @Test
+    void modificationsAffectOnlyTheModifiedResult() {
+        SelectionResult<String> result = new SelectionResult<>(SORTED_OPTIONS, IGNORING_CASE, bitsOf(1, 3, 5));
+        SelectionResult<String> view = result.view();
+        assertEquals(result, view);
+        assertTrue(view.add("b"));
+        assertFalse(view.add("A"));
+        assertTrue(view.remove("c"));
+        assertEquals(Set.of("A", "b", "d"), view);
+        assertEquals(Set.of("A", "c", "d"), result);
+        assertEquals(Set.of("A", "c", "d"), result.view());
+
+        SelectionResult<String> iterated = result.view();
+        Iterator<String> iterator = iterated.iterator();
+        assertThrows(IllegalStateException.class, iterator::remove);
+        List<String> visited = new ArrayList<>();
+        while (iterator.hasNext()) {
+            visited.add(iterator.next());
+            iterator.remove();
+        }
+        assertEquals(List.of("A", "c", "d"), visited);
+        assertTrue(iterated.isEmpty());
+        assertFalse(iterated.contains("A"));
+        assertEquals(3, result.size());
+
+        SelectionResult<String> cleared = result.view();
+        cleared.clear();
+        assertTrue(cleared.isEmpty());
+        assertEquals(Set.of("A", "c", "d"), result.toSet());
+    }
+
+    @Test
+    void behavesLikeHashSet() {
+        Random random = new Random(3);
+        List<String> sortedOptions = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            sortedOptions.add(Integer.toString(random.nextInt(1000), 36) + (random.nextBoolean() ? "x" : "X"));
+        }
+        sortedOptions = new ArrayList<>(new HashSet<>(sortedOptions));
+        sortedOptions.sort(IGNORING_CASE);
+
+        BitSet selection = new BitSet();
+        Set<String> expected = new HashSet<>();
+        for (int position = 0; position < sortedOptions.size(); position++) {
+            if (random.nextInt(3) == 0) {
+                selection.set(position);
+                expected.add(sortedOptions.get(position));
+            }
+        }
+        SelectionResult<String> result = new SelectionResult<>(sortedOptions, IGNORING_CASE, selection);
+        assertEquals(expected.size(), result.size());
+        for (String option : sortedOptions) {
+            assertEquals(expected.contains(option), result.contains(option), option);
+        }
+        assertEquals(expected, result);
+        assertEquals(expected.hashCode(), result.hashCode());
+
+        Set<String> copy = result.toSet();
+        assertNotSame(result, copy);
+        assertEquals(expected, copy);
+        copy.clear();
+        assertEquals(expected.size(), result.size());
+    }
+}